@@ -0,0 +1,134 @@
+package com.notifyme.benchmark;
+
+import com.notifyme.entity.EmailOutbox;
+import com.notifyme.service.EmailService;
+import com.notifyme.service.concurrent.BoundedExecutor;
+import com.notifyme.service.concurrent.BoundedExecutor.Overflow;
+import com.notifyme.service.mail.SmtpConnectionPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EmailService#sendBatch} over the real {@link SmtpConnectionPool}, backed by a
+ * {@link JavaMailSenderImpl} whose session hands out {@link FakeTransport} connections. Sub-batches
+ * run on the default platform pool (core 2 / max 5) or on bounded virtual threads, per
+ * {@code async.mode}. With a per-message latency the platform pool caps parallel sends at its two
+ * core threads, since it only grows once its 500-task queue is full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailDispatchBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int batchSize;
+
+    @Param({"2", "16"})
+    private int connections;
+
+    @Param({"0", "20"})
+    private long latencyMs;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    private EmailService emailService;
+    private List<EmailOutbox> batch;
+    private AutoCloseable executor;
+
+    @Setup
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(FakeTransport.LATENCY_PROPERTY, String.valueOf(latencyMs));
+        Session session = Session.getInstance(properties);
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, FakeTransport.PROTOCOL,
+            FakeTransport.class.getName(), "NotifyMe", "1.0"));
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setProtocol(FakeTransport.PROTOCOL);
+        mailSender.setHost("localhost");
+
+        SmtpConnectionPool pool = new SmtpConnectionPool(connections, new SimpleMeterRegistry());
+        inject(pool, "mailSender", mailSender);
+        inject(pool, "maxMessagesPerConnection", 100);
+        inject(pool, "borrowTimeoutMs", 30_000L);
+
+        emailService = new EmailService();
+        inject(emailService, "mailSender", mailSender);
+        inject(emailService, "smtpConnectionPool", pool);
+        inject(emailService, "taskExecutor", taskExecutor());
+        inject(emailService, "parallelism", connections);
+        inject(emailService, "minSubBatchSize", 10);
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            EmailOutbox email = new EmailOutbox();
+            email.setId((long) i);
+            email.setRecipient("user" + i + "@example.com");
+            email.setSubject("Movie Alert: Dune: Part Two is now available!");
+            email.setBody("Dear Movie Fan,\n\nGreat news! The movie \"Dune: Part Two\" is now available for "
+                + "booking in Mumbai.\n\nBest regards,\nNotifyMe Team");
+            batch.add(email);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        executor.close();
+    }
+
+    @Benchmark
+    public Map<Long, Exception> sendBatch() {
+        return emailService.sendBatch(batch);
+    }
+
+    // Mirrors AsyncConfig.taskExecutor with the default async.* settings
+    private Executor taskExecutor() {
+        if (mode.equals("virtual")) {
+            BoundedExecutor bounded = new BoundedExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("NotifyMe-", 0).factory()),
+                200, Overflow.CALLER_RUNS, Duration.ofSeconds(30));
+            executor = bounded;
+            return bounded;
+        }
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(2);
+        pool.setMaxPoolSize(5);
+        pool.setQueueCapacity(500);
+        pool.setThreadNamePrefix("NotifyMe-");
+        pool.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.initialize();
+        executor = pool::shutdown;
+        return pool;
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
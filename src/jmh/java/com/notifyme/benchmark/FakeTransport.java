@@ -0,0 +1,51 @@
+package com.notifyme.benchmark;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * In-process mail transport that accepts every connection and serializes each message to nowhere,
+ * so dispatch benchmarks measure MIME building and encoding without a network. Setting the
+ * {@value #LATENCY_PROPERTY} session property adds a blocking delay per message, standing in for
+ * the SMTP round trip.
+ */
+public class FakeTransport extends Transport {
+
+    public static final String PROTOCOL = "fake";
+    public static final String LATENCY_PROPERTY = "mail.fake.latency-ms";
+
+    private final long latencyMs;
+
+    public FakeTransport(Session session, URLName urlName) {
+        super(session, urlName);
+        this.latencyMs = Long.parseLong(session.getProperty(LATENCY_PROPERTY) != null
+            ? session.getProperty(LATENCY_PROPERTY) : "0");
+    }
+
+    @Override
+    protected boolean protocolConnect(String host, int port, String user, String password) {
+        return true;
+    }
+
+    @Override
+    public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        try {
+            message.writeTo(OutputStream.nullOutputStream());
+            if (latencyMs > 0) {
+                Thread.sleep(latencyMs);
+            }
+        } catch (IOException e) {
+            throw new MessagingException("Failed to write message", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted sending message", e);
+        }
+    }
+}
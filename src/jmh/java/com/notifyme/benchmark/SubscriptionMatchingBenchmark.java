@@ -0,0 +1,92 @@
+package com.notifyme.benchmark;
+
+import com.notifyme.entity.NotificationRequest;
+import com.notifyme.service.SubscriptionDemand;
+import com.notifyme.service.SubscriptionIndex;
+import com.notifyme.service.matching.MatchKeys;
+import com.notifyme.service.scraper.ScrapeFingerprintStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Release matching as done by {@code NotificationService.processMovieRelease}: the subscription
+ * index lookup for one (movie, location, date), and the demand ranking that plans each scrape run.
+ * Subscriptions are spread evenly over {@code pairs} (movie, location) pairs. With
+ * {@code minSimilarity} below 1, lookups also walk the location's trigram index for similar titles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SubscriptionMatchingBenchmark {
+
+    private static final int LOCATIONS = 50;
+
+    @Param({"10000", "1000000", "10000000"})
+    private int subscriptions;
+
+    @Param({"1000"})
+    private int pairs;
+
+    @Param({"1.0", "0.85"})
+    private double minSimilarity;
+
+    private SubscriptionIndex index;
+    private LocalDate today;
+    private LocalDate releaseDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new SubscriptionIndex();
+        inject(index, "fuzzyMinSimilarity", minSimilarity);
+        inject(index, "fingerprintStore", new ScrapeFingerprintStore(1000, 24));
+        today = LocalDate.now();
+        releaseDate = today.plusDays(7);
+        for (int i = 0; i < subscriptions; i++) {
+            int pair = i % pairs;
+            NotificationRequest notification = new NotificationRequest();
+            notification.setId((long) i);
+            notification.setEmail("user" + i + "@example.com");
+            notification.setMovieName("Movie " + pair);
+            notification.setLocation("City " + pair % LOCATIONS);
+            notification.setMovieKey(MatchKeys.movie(notification.getMovieName()));
+            notification.setLocationKey(MatchKeys.location(notification.getLocation()));
+            notification.setStartDate(today.minusDays(i % 30));
+            notification.setEndDate(today.plusDays(1 + i % 60));
+            index.add(notification);
+        }
+    }
+
+    @Benchmark
+    public List<Long> findMatchingIds() {
+        return index.findMatchingIds("Movie 0", "City 0", releaseDate);
+    }
+
+    @Benchmark
+    public List<Long> findMatchingIdsMisspelled() {
+        return index.findMatchingIds("Moovie 0 (IMAX)", "city  0", releaseDate);
+    }
+
+    @Benchmark
+    public List<SubscriptionDemand> rankDemand() {
+        return index.rankDemand(today, 500);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
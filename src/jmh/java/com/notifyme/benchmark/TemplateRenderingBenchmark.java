@@ -0,0 +1,67 @@
+package com.notifyme.benchmark;
+
+import com.notifyme.service.template.CompiledTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the seeded MOVIE_RELEASE template by chained {@link String#replace} calls, as
+ * {@code EmailTemplate.processTemplate} used to, and through a {@link CompiledTemplate} with a
+ * reused buffer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateRenderingBenchmark {
+
+    private static final String SUBJECT = "Movie Alert: ${movieName} is now available!";
+    private static final String BODY = "Dear Movie Fan,\n\nGreat news! The movie \"${movieName}\" is now available "
+        + "for booking in ${location} on ${releaseDate}.\n\nDon't miss out - book your tickets now!\n\n"
+        + "Best regards,\nNotifyMe Team";
+    private static final List<String> PARAMETERS = List.of("movieName", "location", "releaseDate");
+
+    private CompiledTemplate subject;
+    private CompiledTemplate body;
+    private StringBuilder buffer;
+    private LocalDate releaseDate;
+
+    @Setup
+    public void setUp() {
+        subject = CompiledTemplate.compile(SUBJECT, PARAMETERS);
+        body = CompiledTemplate.compile(BODY, PARAMETERS);
+        buffer = new StringBuilder(512);
+        releaseDate = LocalDate.now();
+    }
+
+    @Benchmark
+    public void processTemplate(Blackhole blackhole) {
+        Object[] args = {"${movieName}", "Dune: Part Two", "${location}", "Mumbai", "${releaseDate}", releaseDate};
+        blackhole.consume(replaceAll(SUBJECT, args));
+        blackhole.consume(replaceAll(BODY, args));
+    }
+
+    @Benchmark
+    public void compiledTemplate(Blackhole blackhole) {
+        Object[] values = {"Dune: Part Two", "Mumbai", releaseDate};
+        blackhole.consume(subject.render(buffer, values));
+        blackhole.consume(body.render(buffer, values));
+    }
+
+    private static String replaceAll(String template, Object... args) {
+        String result = template;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            result = result.replace(String.valueOf(args[i]), String.valueOf(args[i + 1]));
+        }
+        return result;
+    }
+}
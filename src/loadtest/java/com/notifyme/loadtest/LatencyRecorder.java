@@ -0,0 +1,47 @@
+package com.notifyme.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects latency samples in nanoseconds and summarizes them as millisecond percentiles.
+ * Samples are kept exactly; a load test records at most a few million of them.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    public synchronized Percentiles percentiles() {
+        if (count == 0) {
+            return new Percentiles(0, 0, 0, 0, 0);
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Percentiles(count, millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.99),
+            toMillis(sorted[sorted.length - 1]));
+    }
+
+    private static double millis(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public record Percentiles(int samples, double p50, double p90, double p99, double max) {
+    }
+}
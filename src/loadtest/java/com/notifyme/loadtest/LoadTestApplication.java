@@ -0,0 +1,34 @@
+package com.notifyme.loadtest;
+
+import com.notifyme.NotifyMeApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+
+/**
+ * Entry point of {@code ./gradlew loadTest}: boots the application with the {@code loadtest}
+ * profile, its mail pointed at an in-process {@link SmtpSink}, runs the {@link LoadTestDriver}
+ * and exits non-zero if a registration failed or an expected email never arrived.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        int exitCode;
+        try (SmtpSink smtpSink = SmtpSink.start()) {
+            String[] arguments = Arrays.copyOf(args, args.length + 1);
+            arguments[args.length] = "--spring.mail.port=" + smtpSink.port();
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(NotifyMeApplication.class)
+                     .profiles("loadtest")
+                     .initializers(ctx -> ctx.getBeanFactory().registerSingleton("smtpSink", smtpSink))
+                     .run(arguments)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadTestReport report = context.getBean(LoadTestDriver.class).run(port);
+                exitCode = report.registrationFailures() == 0 && report.undeliveredEmails() == 0 ? 0 : 1;
+            }
+        }
+        System.exit(exitCode);
+    }
+}
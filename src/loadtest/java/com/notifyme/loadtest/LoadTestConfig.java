@@ -0,0 +1,27 @@
+package com.notifyme.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    /**
+     * Starts every run from an empty schema. Refuses databases whose URL does not mention
+     * "loadtest", so a misconfigured run cannot wipe real data.
+     */
+    @Bean
+    public FlywayMigrationStrategy cleanMigrateStrategy(@Value("${spring.datasource.url}") String url) {
+        if (!url.contains("loadtest")) {
+            throw new IllegalStateException("Load test database URL must contain 'loadtest': " + url);
+        }
+        return flyway -> {
+            flyway.clean();
+            flyway.migrate();
+        };
+    }
+}
@@ -0,0 +1,278 @@
+package com.notifyme.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.notifyme.dto.NotificationRequestDTO;
+import com.notifyme.loadtest.SubscriptionGenerator.SyntheticSubscriptions;
+import com.notifyme.service.scraper.BookMyShowScraperService;
+import com.notifyme.service.scraper.StubBookMyShowScraperService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the whole pipeline of a running application: registers synthetic subscriptions over
+ * HTTP, publishes scripted release bursts through the stub scraper, and waits for the resulting
+ * emails to reach the {@link SmtpSink}. Release-to-inbox latency is measured per recipient from
+ * the first publish of a release it subscribed to until an email for it arrives, so releases
+ * folded into one digest count once, from the earliest.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestDriver {
+
+    private static final String REGISTER_PATH = "/api/v1/notifications/register";
+
+    @Autowired
+    private SmtpSink smtpSink;
+
+    @Autowired
+    private BookMyShowScraperService scraperService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    @Value("${loadtest.users:10000}")
+    private int users;
+
+    @Value("${loadtest.movies:200}")
+    private int movies;
+
+    @Value("${loadtest.subscriptions-per-user:3}")
+    private int subscriptionsPerUser;
+
+    // Zipf exponent of movie popularity; 0 spreads subscriptions evenly
+    @Value("${loadtest.movie-skew:1.0}")
+    private double movieSkew;
+
+    @Value("${loadtest.registration-concurrency:64}")
+    private int registrationConcurrency;
+
+    @Value("${loadtest.release-lead-days:14}")
+    private int releaseLeadDays;
+
+    // Lets the first scrape pass fingerprint every target before any release is published
+    @Value("${loadtest.warmup-ms:10000}")
+    private long warmupMs;
+
+    @Value("${loadtest.bursts:3}")
+    private int bursts;
+
+    @Value("${loadtest.burst-pairs:100}")
+    private int burstPairs;
+
+    @Value("${loadtest.burst-interval-ms:15000}")
+    private long burstIntervalMs;
+
+    @Value("${loadtest.drain-timeout-ms:300000}")
+    private long drainTimeoutMs;
+
+    @Value("${loadtest.smtp.latency-ms:0}")
+    private long smtpLatencyMs;
+
+    @Value("${loadtest.report-file:build/reports/loadtest/results.json}")
+    private String reportFile;
+
+    @Value("${loadtest.baseline-file:}")
+    private String baselineFile;
+
+    private final Map<String, Long> pendingSinceByEmail = new ConcurrentHashMap<>();
+    private final LatencyRecorder releaseToInbox = new LatencyRecorder();
+    private final AtomicInteger unexpectedEmails = new AtomicInteger();
+    private final AtomicLong lastDeliveryNanos = new AtomicLong();
+
+    public LoadTestReport run(int port) throws Exception {
+        if (!(scraperService instanceof StubBookMyShowScraperService stub)) {
+            throw new IllegalStateException("Load test needs the stub scraper, found " + scraperService.getClass().getName());
+        }
+        smtpSink.setLatencyMs(smtpLatencyMs);
+        smtpSink.onDelivery(this::delivered);
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        LocalDate today = LocalDate.now();
+        LocalDate releaseDate = today.plusDays(releaseLeadDays);
+        SyntheticSubscriptions subscriptions = new SubscriptionGenerator(seed, users, movies, subscriptionsPerUser, movieSkew)
+            .generate(runId, today, releaseDate);
+        log.info("Load test {}: {} users, {} subscriptions over {} (movie, location) pairs",
+            runId, users, subscriptions.requests().size(), subscriptions.targets().size());
+
+        LatencyRecorder registrationLatency = new LatencyRecorder();
+        long registrationStart = System.nanoTime();
+        int registrationFailures = register(port, subscriptions.requests(), registrationLatency);
+        double registrationSeconds = seconds(System.nanoTime() - registrationStart);
+        log.info("Registered {} subscriptions in {} s, {} failed",
+            registrationLatency.count(), format(registrationSeconds), registrationFailures);
+
+        Thread.sleep(warmupMs);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            log.warn("Hibernate statistics are disabled, statement counts will be zero");
+        }
+        long statementsBefore = statistics.getPrepareStatementCount();
+
+        List<String> pairs = new ArrayList<>(subscriptions.targets().keySet());
+        Collections.shuffle(pairs, new Random(seed));
+        int releases = 0;
+        int expectedEmails = 0;
+        long releaseStart = System.nanoTime();
+        for (int burst = 0; burst < bursts && releases < pairs.size(); burst++) {
+            sleepUntil(releaseStart + TimeUnit.MILLISECONDS.toNanos(burst * burstIntervalMs));
+            List<String> released = pairs.subList(releases, Math.min(pairs.size(), releases + burstPairs));
+            for (String pair : released) {
+                long now = System.nanoTime();
+                for (String email : subscriptions.emailsByPair().get(pair)) {
+                    // A recipient still waiting on an earlier release gets both in one digest
+                    if (pendingSinceByEmail.putIfAbsent(email, now) == null) {
+                        expectedEmails++;
+                    }
+                }
+                stub.publish(subscriptions.targets().get(pair), List.of(releaseDate));
+            }
+            releases += released.size();
+            log.info("Burst {}: published {} releases", burst + 1, released.size());
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMs);
+        while (!pendingSinceByEmail.isEmpty() && System.nanoTime() < drainDeadline) {
+            Thread.sleep(200);
+        }
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        int delivered = releaseToInbox.count();
+        double releaseSeconds = seconds(Math.max(lastDeliveryNanos.get(), releaseStart) - releaseStart);
+        LoadTestReport report = new LoadTestReport(runId, users, subscriptions.requests().size(), registrationFailures,
+            registrationLatency.count() / registrationSeconds, registrationLatency.percentiles(),
+            releases, expectedEmails, delivered, pendingSinceByEmail.size(), unexpectedEmails.get(),
+            releaseSeconds > 0 ? delivered / releaseSeconds : 0, releaseToInbox.percentiles(),
+            statements, releases > 0 ? (double) statements / releases : 0);
+        logReport(report);
+        writeReport(report);
+        return report;
+    }
+
+    private int register(int port, List<NotificationRequestDTO> requests, LatencyRecorder latency)
+            throws IOException, InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + REGISTER_PATH);
+        Semaphore permits = new Semaphore(registrationConcurrency);
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            for (NotificationRequestDTO request : requests) {
+                HttpRequest post = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(request)))
+                    .build();
+                permits.acquire();
+                long started = System.nanoTime();
+                client.sendAsync(post, HttpResponse.BodyHandlers.discarding()).whenComplete((response, e) -> {
+                    if (e != null || response.statusCode() != 200) {
+                        failures.incrementAndGet();
+                    } else {
+                        latency.record(System.nanoTime() - started);
+                    }
+                    permits.release();
+                });
+            }
+            permits.acquire(registrationConcurrency);
+        }
+        return failures.get();
+    }
+
+    private void delivered(String recipient) {
+        long now = System.nanoTime();
+        Long pendingSince = pendingSinceByEmail.remove(recipient);
+        if (pendingSince == null) {
+            unexpectedEmails.incrementAndGet();
+            return;
+        }
+        releaseToInbox.record(now - pendingSince);
+        lastDeliveryNanos.accumulateAndGet(now, Math::max);
+    }
+
+    private void logReport(LoadTestReport report) {
+        log.info("Registrations: {}/s, latency ms {}", format(report.registrationsPerSecond()),
+            report.registrationLatencyMs());
+        log.info("Releases: {}, emails expected {}, delivered {}, undelivered {}, unexpected {}",
+            report.releases(), report.expectedEmails(), report.deliveredEmails(),
+            report.undeliveredEmails(), report.unexpectedEmails());
+        log.info("Delivery: {} emails/s, release-to-inbox ms {}", format(report.emailsPerSecond()),
+            report.releaseToInboxMs());
+        log.info("Statements: {} during releases, {} per release", report.statements(),
+            format(report.statementsPerRelease()));
+    }
+
+    private void writeReport(LoadTestReport report) throws IOException {
+        Path path = Path.of(reportFile);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+        log.info("Report written to {}", path.toAbsolutePath());
+
+        if (!baselineFile.isBlank()) {
+            LoadTestReport baseline = objectMapper.readValue(Path.of(baselineFile).toFile(), LoadTestReport.class);
+            log.info("Against baseline {}: emails/s {}, release-to-inbox p99 {}, statements/release {}, registrations/s {}",
+                baseline.runId(),
+                change(report.emailsPerSecond(), baseline.emailsPerSecond()),
+                change(report.releaseToInboxMs().p99(), baseline.releaseToInboxMs().p99()),
+                change(report.statementsPerRelease(), baseline.statementsPerRelease()),
+                change(report.registrationsPerSecond(), baseline.registrationsPerSecond()));
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private static String change(double current, double baseline) {
+        if (baseline == 0) {
+            return format(current) + " (no baseline)";
+        }
+        return String.format(Locale.ROOT, "%.1f (%+.1f%%)", current, 100 * (current - baseline) / baseline);
+    }
+}
@@ -0,0 +1,26 @@
+package com.notifyme.loadtest;
+
+import com.notifyme.loadtest.LatencyRecorder.Percentiles;
+
+/**
+ * Outcome of one load test run, written as JSON so later runs can be compared against it.
+ * Statement counts are the JDBC statements Hibernate prepared during the release phase,
+ * background jobs included, divided by the number of scripted releases.
+ */
+public record LoadTestReport(
+    String runId,
+    int users,
+    int subscriptions,
+    int registrationFailures,
+    double registrationsPerSecond,
+    Percentiles registrationLatencyMs,
+    int releases,
+    int expectedEmails,
+    int deliveredEmails,
+    int undeliveredEmails,
+    int unexpectedEmails,
+    double emailsPerSecond,
+    Percentiles releaseToInboxMs,
+    long statements,
+    double statementsPerRelease) {
+}
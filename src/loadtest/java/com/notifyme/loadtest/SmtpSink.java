@@ -0,0 +1,150 @@
+package com.notifyme.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Minimal in-process SMTP server the application sends to during a load test. It speaks just
+ * enough of the protocol for jakarta.mail (EHLO, MAIL, RCPT, DATA, RSET, NOOP, QUIT), serves each
+ * connection on a virtual thread, and reports every accepted recipient to the delivery listener.
+ * {@link #setLatencyMs} delays each DATA reply to stand in for a remote provider.
+ */
+@Slf4j
+public class SmtpSink implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+    private final AtomicLong messages = new AtomicLong();
+
+    private volatile long latencyMs;
+    private volatile Consumer<String> deliveryListener = recipient -> { };
+
+    private SmtpSink(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptor = Thread.ofPlatform().daemon().name("smtp-sink").start(this::acceptLoop);
+    }
+
+    public static SmtpSink start() throws IOException {
+        return new SmtpSink(new ServerSocket(0, 512, InetAddress.getLoopbackAddress()));
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long messagesReceived() {
+        return messages.get();
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public void onDelivery(Consumer<String> listener) {
+        this.deliveryListener = listener;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        acceptor.interrupt();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("smtp-sink-session").start(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("SMTP sink accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+            reply(out, "220 localhost load test SMTP sink");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250 SMTPUTF8");
+                    case "HELO", "NOOP" -> reply(out, "250 OK");
+                    case "MAIL" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is not needed, only its arrival
+                        }
+                        accept(recipients);
+                        reply(out, "250 OK");
+                    }
+                    case "RSET" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            log.debug("SMTP sink session ended: {}", e.getMessage());
+        }
+    }
+
+    private void accept(List<String> recipients) {
+        long delay = latencyMs;
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        messages.incrementAndGet();
+        recipients.forEach(deliveryListener);
+        recipients.clear();
+    }
+
+    private static String address(String rcptLine) {
+        int start = rcptLine.indexOf('<');
+        int end = rcptLine.indexOf('>', start + 1);
+        String address = start >= 0 && end > start ? rcptLine.substring(start + 1, end) : rcptLine.substring(rcptLine.indexOf(':') + 1);
+        return address.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static void reply(Writer out, String reply) throws IOException {
+        out.write(reply);
+        out.write("\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,112 @@
+package com.notifyme.loadtest;
+
+import com.notifyme.dto.NotificationRequestDTO;
+import com.notifyme.service.matching.MatchKeys;
+import com.notifyme.service.scraper.ScrapeTarget;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic subscriptions: each user follows a few (movie, location) pairs, movies
+ * are picked with Zipf-like popularity so a handful of titles draw most of the demand, and names
+ * are written in the variants real users type (case, "(IMAX)", city aliases). Every window
+ * contains the release date, so each subscription is expected to be notified once its pair is
+ * released.
+ */
+public class SubscriptionGenerator {
+
+    // Spellings of one city each; the first is the one scripted releases use
+    private static final List<List<String>> LOCATIONS = List.of(
+        List.of("Bengaluru", "Bangalore"),
+        List.of("Mumbai", "Bombay"),
+        List.of("Chennai", "Madras"),
+        List.of("Kolkata", "Calcutta"),
+        List.of("Delhi", "New Delhi"),
+        List.of("Pune", "Poona"),
+        List.of("Kochi", "Cochin"),
+        List.of("Hyderabad", "hyderabad "));
+
+    private final Random random;
+    private final int users;
+    private final int movies;
+    private final int subscriptionsPerUser;
+    private final double[] cumulativeWeights;
+
+    public SubscriptionGenerator(long seed, int users, int movies, int subscriptionsPerUser, double movieSkew) {
+        this.random = new Random(seed);
+        this.users = users;
+        this.movies = movies;
+        this.subscriptionsPerUser = Math.min(subscriptionsPerUser, movies * LOCATIONS.size());
+        this.cumulativeWeights = new double[movies];
+        double total = 0;
+        for (int rank = 0; rank < movies; rank++) {
+            total += 1.0 / Math.pow(rank + 1, movieSkew);
+            cumulativeWeights[rank] = total;
+        }
+    }
+
+    public SyntheticSubscriptions generate(String runId, LocalDate today, LocalDate releaseDate) {
+        int leadDays = (int) ChronoUnit.DAYS.between(today, releaseDate);
+        List<NotificationRequestDTO> requests = new ArrayList<>(users * subscriptionsPerUser);
+        Map<String, ScrapeTarget> targets = new LinkedHashMap<>();
+        Map<String, List<String>> emailsByPair = new LinkedHashMap<>();
+        for (int user = 0; user < users; user++) {
+            String email = "user" + user + "." + runId + "@loadtest.local";
+            Set<String> followed = new HashSet<>();
+            while (followed.size() < subscriptionsPerUser) {
+                int movie = pickMovie();
+                List<String> location = LOCATIONS.get(random.nextInt(LOCATIONS.size()));
+                String movieName = "Load Test Movie " + movie;
+                String pair = MatchKeys.pair(movieName, location.get(0));
+                if (!followed.add(pair)) {
+                    continue;
+                }
+
+                NotificationRequestDTO request = new NotificationRequestDTO();
+                request.setEmail(email);
+                request.setMovieName(variant(movieName));
+                request.setLocation(location.get(random.nextInt(location.size())));
+                request.setStartDate(today.plusDays(random.nextInt(leadDays + 1)));
+                request.setEndDate(releaseDate.plusDays(1 + random.nextInt(60)));
+                requests.add(request);
+
+                targets.putIfAbsent(pair, new ScrapeTarget(movieName, location.get(0)));
+                emailsByPair.computeIfAbsent(pair, key -> new ArrayList<>()).add(email);
+            }
+        }
+        return new SyntheticSubscriptions(requests, targets, emailsByPair);
+    }
+
+    private int pickMovie() {
+        double point = random.nextDouble() * cumulativeWeights[movies - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, point);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private String variant(String movieName) {
+        return switch (random.nextInt(4)) {
+            case 0 -> movieName.toUpperCase(Locale.ROOT);
+            case 1 -> movieName + " (IMAX)";
+            case 2 -> "  " + movieName.toLowerCase(Locale.ROOT) + " ";
+            default -> movieName;
+        };
+    }
+
+    /**
+     * Generated registrations, with the release target and subscriber emails of each canonical pair.
+     */
+    public record SyntheticSubscriptions(List<NotificationRequestDTO> requests,
+                                         Map<String, ScrapeTarget> targets,
+                                         Map<String, List<String>> emailsByPair) {
+    }
+}
@@ -1,17 +1,42 @@
 package com.notifyme.config;
 
+import com.notifyme.service.concurrent.BoundedExecutor;
+import com.notifyme.service.concurrent.BoundedExecutor.Overflow;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Executors for blocking I/O work (SMTP sub-batches, scraping). In {@code platform} mode they are
+ * fixed thread pools; in {@code virtual} mode every task gets a virtual thread and a semaphore
+ * caps concurrency instead. Either way {@code async.overflow} decides what happens when the
+ * executor is saturated.
+ */
 @Configuration
-@EnableAsync
 public class AsyncConfig {
 
+    public enum Mode {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    @Value("${async.mode:platform}")
+    private Mode mode;
+
     @Value("${async.core-pool-size:2}")
     private int corePoolSize;
 
@@ -21,14 +46,77 @@ public class AsyncConfig {
     @Value("${async.queue-capacity:500}")
     private int queueCapacity;
 
+    @Value("${async.virtual.max-concurrency:200}")
+    private int virtualMaxConcurrency;
+
+    @Value("${async.overflow:caller-runs}")
+    private Overflow overflow;
+
+    @Value("${async.overflow-timeout-ms:30000}")
+    private long overflowTimeoutMs;
+
+    @Value("${scraping.threads:8}")
+    private int scrapingThreads;
+
     @Bean(name = "taskExecutor")
-    public Executor taskExecutor() {
+    public Executor taskExecutor(MeterRegistry meterRegistry) {
+        if (mode == Mode.VIRTUAL) {
+            return bounded(virtualThreads("NotifyMe-"), virtualMaxConcurrency, overflow,
+                "taskExecutor", meterRegistry);
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(corePoolSize);
         executor.setMaxPoolSize(maxPoolSize);
         executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("NotifyMe-");
+        executor.setRejectedExecutionHandler(rejectionHandler());
         executor.initialize();
         return executor;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Scraper workers. Per-host politeness is enforced by the scraping engine; this only bounds
+     * the total number of requests in flight. Submissions come from the engine's single delay
+     * timer, so a full executor rejects at once and the engine retries the slot later, rather
+     * than blocking the timer and every other host's slots with it.
+     */
+    @Bean(name = "scrapingExecutor")
+    public BoundedExecutor scrapingExecutor(MeterRegistry meterRegistry) {
+        ExecutorService workers = mode == Mode.VIRTUAL
+            ? virtualThreads("Scraper-worker-")
+            : ExecutorServiceMetrics.monitor(meterRegistry,
+                Executors.newFixedThreadPool(scrapingThreads, new CustomizableThreadFactory("Scraper-worker-")),
+                "scraper");
+        return bounded(workers, scrapingThreads, Overflow.ABORT, "scraper", meterRegistry);
+    }
+
+    private BoundedExecutor bounded(ExecutorService delegate, int maxConcurrency, Overflow overflow,
+                                    String name, MeterRegistry meterRegistry) {
+        BoundedExecutor executor = new BoundedExecutor(delegate, maxConcurrency, overflow,
+            Duration.ofMillis(overflowTimeoutMs));
+        meterRegistry.gauge("notifyme.executor.in_flight", Tags.of("name", name), executor, BoundedExecutor::inFlight);
+        return executor;
+    }
+
+    private static ExecutorService virtualThreads(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+
+    private RejectedExecutionHandler rejectionHandler() {
+        return switch (overflow) {
+            case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+            case ABORT -> new ThreadPoolExecutor.AbortPolicy();
+            case BLOCK -> (task, executor) -> {
+                try {
+                    if (!executor.getQueue().offer(task, overflowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        throw new RejectedExecutionException("Task queue full for " + overflowTimeoutMs + " ms");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted waiting for task queue space", e);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.notifyme.config;
+
+import com.notifyme.service.scraper.BookMyShowScraperService;
+import com.notifyme.service.scraper.StubBookMyShowScraperService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScrapingConfig {
+
+    // Falls back to the local stub until a real BookMyShow scraper bean is provided
+    @Bean
+    @ConditionalOnMissingBean(BookMyShowScraperService.class)
+    public BookMyShowScraperService bookMyShowScraperService() {
+        return new StubBookMyShowScraperService();
+    }
+}
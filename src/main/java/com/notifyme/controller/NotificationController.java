@@ -1,36 +1,103 @@
 package com.notifyme.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.notifyme.dto.BulkRegistrationResultDTO;
 import com.notifyme.dto.NotificationRequestDTO;
 import com.notifyme.entity.NotificationRequest;
+import com.notifyme.service.NotificationPageCache.RenderedPage;
 import com.notifyme.service.NotificationService;
+import com.notifyme.service.RegistrationIdempotencyCache;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 @Slf4j
 @RestController
 @RequestMapping("/v1/notifications")
 public class NotificationController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private RegistrationIdempotencyCache registrationIdempotencyCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/register")
     public ResponseEntity<NotificationRequest> registerNotification(
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody NotificationRequestDTO request) {
-        log.info("Received notification registration request: {}", request);
-        NotificationRequest notification = notificationService.registerNotification(request);
+        log.debug("Received notification registration request: {}", request);
+        NotificationRequest notification = idempotencyKey != null
+            ? registrationIdempotencyCache.register(idempotencyKey, request)
+            : notificationService.registerNotification(request);
         return ResponseEntity.ok(notification);
     }
 
+    /**
+     * Registers many notifications from a JSON array or newline-delimited JSON body. Items are
+     * read as trees and bound one by one, so an invalid or unbindable item is reported by position
+     * without failing the rest; only a body that is not well-formed JSON is rejected as a whole.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkRegistrationResultDTO> registerNotifications(InputStream body) throws IOException {
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            BulkRegistrationResultDTO result = notificationService.registerNotifications(items);
+            log.info("Bulk registration: {} received, {} registered", result.getReceived(), result.getRegistered());
+            return ResponseEntity.ok(result);
+        } catch (JsonProcessingException | RuntimeJsonMappingException e) {
+            throw new IllegalArgumentException("Malformed bulk registration payload: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a page as pre-serialized JSON with a strong ETag; a poll whose If-None-Match still
+     * matches gets 304 Not Modified without a body.
+     */
     @GetMapping("/{email}")
-    public ResponseEntity<List<NotificationRequest>> getNotifications(@PathVariable String email) {
-        log.info("Fetching notifications for email: {}", email);
-        List<NotificationRequest> notifications = notificationService.getNotificationsByEmail(email);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<byte[]> getNotifications(
+            @PathVariable String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest webRequest) {
+        log.debug("Fetching notifications for email: {}", email);
+        RenderedPage page = notificationService.getNotificationPage(email, cursor, size);
+        if (webRequest.checkNotModified(page.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(page.etag()).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(page.etag())
+            .cacheControl(CacheControl.noCache())
+            .contentType(MediaType.APPLICATION_JSON);
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.body());
+    }
+
+    @PutMapping("/{id}/cancel")
+    public ResponseEntity<NotificationRequest> cancelNotification(@PathVariable Long id) {
+        log.debug("Cancelling notification: {}", id);
+        NotificationRequest notification = notificationService.cancelNotification(id);
+        return ResponseEntity.ok(notification);
     }
 }
\ No newline at end of file
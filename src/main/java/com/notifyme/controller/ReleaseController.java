@@ -0,0 +1,81 @@
+package com.notifyme.controller;
+
+import com.notifyme.dto.BulkItemErrorDTO;
+import com.notifyme.dto.ReleaseEventDTO;
+import com.notifyme.dto.ReleaseIngestResultDTO;
+import com.notifyme.service.ReleaseEventQueue;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ingestion endpoint for release feeds. Events are only validated and queued here; matching and
+ * fan-out happen asynchronously in {@link ReleaseEventQueue}.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/v1/releases")
+public class ReleaseController {
+
+    @Autowired
+    private ReleaseEventQueue releaseEventQueue;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${release.ingest.max-events:1000}")
+    private int maxEvents;
+
+    @Value("${release.ingest.coalesce-window-ms:5000}")
+    private long coalesceWindowMs;
+
+    /**
+     * Queues a batch of release events and answers 202 Accepted, or 429 with Retry-After when the
+     * queue was full for some of them. Resending a whole batch is safe since duplicates coalesce
+     * and notified subscriptions are never notified again.
+     */
+    @PostMapping
+    public ResponseEntity<ReleaseIngestResultDTO> ingest(@RequestBody List<ReleaseEventDTO> events) {
+        if (events.size() > maxEvents) {
+            throw new IllegalArgumentException("At most " + maxEvents + " release events per request");
+        }
+
+        int accepted = 0;
+        int coalesced = 0;
+        int rejected = 0;
+        List<BulkItemErrorDTO> failed = new ArrayList<>();
+        for (int i = 0; i < events.size(); i++) {
+            ReleaseEventDTO event = events.get(i);
+            List<String> errors = new ArrayList<>();
+            validator.validate(event).forEach(violation ->
+                errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+            if (!errors.isEmpty()) {
+                failed.add(new BulkItemErrorDTO(i, errors));
+                continue;
+            }
+
+            switch (releaseEventQueue.submit(event)) {
+                case ACCEPTED -> accepted++;
+                case COALESCED -> coalesced++;
+                case REJECTED -> rejected++;
+            }
+        }
+
+        ReleaseIngestResultDTO result = new ReleaseIngestResultDTO(events.size(), accepted, coalesced, rejected, failed);
+        log.debug("Release ingestion: {}", result);
+        if (rejected > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, coalesceWindowMs / 1000)))
+                .body(result);
+        }
+        return ResponseEntity.accepted().body(result);
+    }
+}
@@ -0,0 +1,16 @@
+package com.notifyme.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkItemErrorDTO {
+
+    // Zero-based position of the item in the submitted payload
+    private int index;
+
+    private List<String> errors;
+}
@@ -0,0 +1,17 @@
+package com.notifyme.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkRegistrationResultDTO {
+
+    private int received;
+
+    private int registered;
+
+    private List<BulkItemErrorDTO> failed;
+}
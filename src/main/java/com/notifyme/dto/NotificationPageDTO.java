@@ -0,0 +1,16 @@
+package com.notifyme.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class NotificationPageDTO {
+
+    private List<NotificationSummaryDTO> notifications;
+
+    // Null when there are no further pages
+    private String nextCursor;
+}
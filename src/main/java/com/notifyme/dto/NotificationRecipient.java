@@ -0,0 +1,20 @@
+package com.notifyme.dto;
+
+/**
+ * Projection of a notification row returned by bulk status transitions,
+ * carrying just what the email fan-out needs.
+ */
+public interface NotificationRecipient {
+
+    Long getId();
+
+    String getEmail();
+
+    String getMovieName();
+
+    String getLocation();
+
+    String getMovieKey();
+
+    String getLocationKey();
+}
@@ -0,0 +1,22 @@
+package com.notifyme.dto;
+
+import com.notifyme.entity.NotificationStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a notification row for the lookup endpoint, selected directly by JPQL so
+ * no entities are loaded into the persistence context.
+ */
+public record NotificationSummaryDTO(
+        Long id,
+        String email,
+        String movieName,
+        String location,
+        LocalDate startDate,
+        LocalDate endDate,
+        NotificationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
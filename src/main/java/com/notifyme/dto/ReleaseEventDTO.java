@@ -0,0 +1,24 @@
+package com.notifyme.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReleaseEventDTO {
+
+    @NotBlank(message = "Movie name is required")
+    private String movieName;
+
+    @NotBlank(message = "Location is required")
+    private String location;
+
+    @NotNull(message = "Release date is required")
+    private LocalDate releaseDate;
+}
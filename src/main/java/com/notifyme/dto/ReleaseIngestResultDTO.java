@@ -0,0 +1,24 @@
+package com.notifyme.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ReleaseIngestResultDTO {
+
+    private int received;
+
+    // Queued as new releases
+    private int accepted;
+
+    // Merged into a release already waiting in the queue
+    private int coalesced;
+
+    // Dropped because the queue was full; safe to resend
+    private int rejected;
+
+    private List<BulkItemErrorDTO> failed;
+}
@@ -0,0 +1,19 @@
+package com.notifyme.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.OffsetDateTime;
+
+@Data
+@Entity
+@Table(name = "cluster_node")
+public class ClusterNode {
+
+    @Id
+    @Column(name = "node_id", length = 100)
+    private String nodeId;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private OffsetDateTime heartbeatAt;
+}
@@ -0,0 +1,7 @@
+package com.notifyme.entity;
+
+public enum EmailOutboxStatus {
+    PENDING,     // Waiting to be claimed by a dispatcher
+    SENT,        // Handed to the SMTP server
+    FAILED       // Gave up after the maximum number of attempts
+}
@@ -36,24 +36,4 @@ public class EmailTemplate {
     @UpdateTimestamp
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
-
-    public String processTemplate(String template, Object... args) {
-        String result = template;
-        for (int i = 0; i < args.length; i += 2) {
-            if (i + 1 < args.length) {
-                String placeholder = String.valueOf(args[i]);
-                String value = String.valueOf(args[i + 1]);
-                result = result.replace(placeholder, value);
-            }
-        }
-        return result;
-    }
-
-    public String getProcessedSubject(Object... args) {
-        return processTemplate(subjectTemplate, args);
-    }
-
-    public String getProcessedBody(Object... args) {
-        return processTemplate(bodyTemplate, args);
-    }
 } 
\ No newline at end of file
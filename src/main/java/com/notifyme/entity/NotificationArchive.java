@@ -0,0 +1,47 @@
+package com.notifyme.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A terminal {@link NotificationRequest} moved to the partitioned archive table; read-only.
+ * Rows are written only by the archiver's set-based move.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "notification_request_archive")
+public class NotificationArchive {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String email;
+
+    @Column(name = "movie_name", nullable = false)
+    private String movieName;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -13,11 +13,17 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
-@Table(name = "notification_request")
+// Partial and expression indexes for the ACTIVE hot path live in db/migration/V2
+@Table(name = "notification_request", indexes = {
+    @Index(name = "idx_notification_email_created", columnList = "email, created_at DESC, id DESC")
+})
 public class NotificationRequest {
     
+    // Rows are inserted by native upserts taking the column default nextval, one id per row
+    // (V3); JPA never persists new rows, so there is nothing to pool ids for
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_request_seq")
+    @SequenceGenerator(name = "notification_request_seq", sequenceName = "notification_request_id_seq", allocationSize = 1)
     private Long id;
 
     @NotBlank(message = "Email is required")
@@ -33,6 +39,13 @@ public class NotificationRequest {
     @Column(nullable = false)
     private String location;
 
+    // Canonical forms of movieName and location (see MatchKeys); matching and dedup use these
+    @Column(name = "movie_key", nullable = false)
+    private String movieKey;
+
+    @Column(name = "location_key", nullable = false)
+    private String locationKey;
+
     @NotNull(message = "Start date is required")
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
@@ -0,0 +1,33 @@
+package com.notifyme.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "email_rate_limit_bucket")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", nullable = false)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private Instant refreshedAt;
+
+    public RateLimitBucket(String bucketKey, double tokens, Instant refreshedAt) {
+        this.bucketKey = bucketKey;
+        this.tokens = tokens;
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.notifyme.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A matched release staged for the recipient's next digest email. Rows are deleted in the
+ * transaction that enqueues the digest.
+ */
+@Data
+@Entity
+@Table(name = "release_alert")
+public class ReleaseAlert {
+
+    // Rows are inserted by ReleaseAlertRepository.insertBatch taking the column default nextval
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "release_alert_seq")
+    @SequenceGenerator(name = "release_alert_seq", sequenceName = "release_alert_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false)
+    private Long notificationId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(name = "movie_name", nullable = false)
+    private String movieName;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(name = "release_date", nullable = false)
+    private LocalDate releaseDate;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,34 @@
+package com.notifyme.repository;
+
+import com.notifyme.entity.ClusterNode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Heartbeats use the database clock, so node clocks never need to agree.
+ */
+@Repository
+public interface ClusterNodeRepository extends JpaRepository<ClusterNode, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO cluster_node (node_id, heartbeat_at) VALUES (:nodeId, now()) " +
+           "ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", nativeQuery = true)
+    void heartbeat(@Param("nodeId") String nodeId);
+
+    @Query(value = "SELECT node_id FROM cluster_node " +
+           "WHERE heartbeat_at > now() - make_interval(secs => :ttlSeconds) ORDER BY node_id", nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("ttlSeconds") double ttlSeconds);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM cluster_node " +
+           "WHERE heartbeat_at < now() - make_interval(secs => :ttlSeconds)", nativeQuery = true)
+    int deleteDeadNodes(@Param("ttlSeconds") double ttlSeconds);
+}
@@ -0,0 +1,27 @@
+package com.notifyme.repository;
+
+import com.notifyme.entity.EmailOutbox;
+import com.notifyme.entity.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Locks the next due PENDING emails, skipping rows already locked by another dispatcher.
+     * Must run inside the transaction that records the send outcome.
+     */
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+           "ORDER BY id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> claimDueBatch(
+            @Param("now") LocalDateTime now,
+            @Param("batchSize") int batchSize);
+
+    long countByStatus(EmailOutboxStatus status);
+}
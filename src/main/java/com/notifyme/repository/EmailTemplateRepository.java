@@ -2,8 +2,11 @@ package com.notifyme.repository;
 
 import com.notifyme.entity.EmailTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +15,7 @@ public interface EmailTemplateRepository extends JpaRepository<EmailTemplate, Lo
     Optional<EmailTemplate> findByTemplateName(String templateName);
     
     boolean existsByTemplateName(String templateName);
+
+    @Query("SELECT t.updatedAt FROM EmailTemplate t WHERE t.templateName = :templateName")
+    Optional<LocalDateTime> findUpdatedAtByTemplateName(@Param("templateName") String templateName);
 } 
\ No newline at end of file
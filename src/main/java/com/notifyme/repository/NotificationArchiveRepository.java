@@ -0,0 +1,70 @@
+package com.notifyme.repository;
+
+import com.notifyme.dto.NotificationSummaryDTO;
+import com.notifyme.entity.NotificationArchive;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+
+    String SUMMARY_COLUMNS = "new com.notifyme.dto.NotificationSummaryDTO(" +
+           "n.id, n.email, n.movieName, n.location, n.startDate, n.endDate, n.status, n.createdAt, n.updatedAt)";
+
+    String ARCHIVE_COLUMNS = "id, email, movie_name, location, start_date, end_date, status, created_at, updated_at";
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NotificationArchive n WHERE n.email = :email " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findLatestByEmail(@Param("email") String email, Limit limit);
+
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NotificationArchive n WHERE n.email = :email " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findByEmailBefore(
+            @Param("email") String email,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    /**
+     * Locks the next batch of terminal rows unchanged since {@code cutoff}, skipping rows locked
+     * elsewhere. Must run inside the transaction that moves them.
+     */
+    @Query(value = "SELECT id FROM notification_request WHERE status <> 'ACTIVE' AND updated_at < :cutoff " +
+           "ORDER BY updated_at, id LIMIT :batchSize FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockArchivableBatch(
+            @Param("cutoff") LocalDateTime cutoff,
+            @Param("batchSize") int batchSize);
+
+    // First days of the end_date months covered by the rows, as ISO dates
+    @Query(value = "SELECT DISTINCT to_char(date_trunc('month', end_date), 'YYYY-MM-DD') " +
+           "FROM notification_request WHERE id IN (:ids)", nativeQuery = true)
+    List<String> findEndMonths(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Query(value = "SELECT ensure_notification_archive_partition(CAST(:monthStart AS date))", nativeQuery = true)
+    String ensurePartition(@Param("monthStart") String monthStart);
+
+    /**
+     * Moves the given rows from notification_request to the archive in one statement and
+     * returns the moved ids.
+     */
+    @Transactional
+    @Query(value = "WITH moved AS (DELETE FROM notification_request WHERE id IN (:ids) " +
+           "RETURNING " + ARCHIVE_COLUMNS + ") " +
+           "INSERT INTO notification_request_archive (" + ARCHIVE_COLUMNS + ") " +
+           "SELECT " + ARCHIVE_COLUMNS + " FROM moved RETURNING id", nativeQuery = true)
+    List<Long> moveToArchive(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Query(value = "SELECT drop_notification_archive_partitions(CAST(:before AS date))", nativeQuery = true)
+    int dropPartitionsBefore(@Param("before") String before);
+}
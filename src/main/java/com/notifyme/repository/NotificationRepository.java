@@ -1,31 +1,154 @@
 package com.notifyme.repository;
 
+import com.notifyme.dto.NotificationRecipient;
+import com.notifyme.dto.NotificationSummaryDTO;
 import com.notifyme.entity.NotificationRequest;
 import com.notifyme.entity.NotificationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<NotificationRequest, Long> {
     
-    List<NotificationRequest> findByEmailOrderByCreatedAtDesc(String email);
-    
-    List<NotificationRequest> findByStatus(NotificationStatus status);
-    
-    @Query("SELECT n FROM NotificationRequest n WHERE n.status = :status " +
-           "AND n.startDate <= :currentDate AND n.endDate >= :currentDate")
-    List<NotificationRequest> findActiveNotificationsInDateRange(
-            @Param("status") NotificationStatus status,
-            @Param("currentDate") LocalDate currentDate);
-    
-    @Query("SELECT n FROM NotificationRequest n WHERE n.status = :status " +
-           "AND n.endDate < :currentDate")
-    List<NotificationRequest> findExpiredNotifications(
-            @Param("status") NotificationStatus status,
-            @Param("currentDate") LocalDate currentDate);
-} 
\ No newline at end of file
+    String STREAM_FETCH_SIZE = "500";
+
+    // Targets uq_notification_active_subscription
+    String UPSERT_ACTIVE_CONFLICT = "ON CONFLICT (lower(email), movie_key, location_key) " +
+           "WHERE status = 'ACTIVE' DO UPDATE SET " +
+           "start_date = LEAST(notification_request.start_date, EXCLUDED.start_date), " +
+           "end_date = GREATEST(notification_request.end_date, EXCLUDED.end_date), " +
+           "updated_at = now()";
+
+    String SUMMARY_COLUMNS = "new com.notifyme.dto.NotificationSummaryDTO(" +
+           "n.id, n.email, n.movieName, n.location, n.startDate, n.endDate, n.status, n.createdAt, n.updatedAt)";
+
+    /**
+     * First page of an email's notifications, newest first, as DTOs rather than managed entities.
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NotificationRequest n WHERE n.email = :email " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findLatestByEmail(@Param("email") String email, Limit limit);
+
+    /**
+     * Keyset page of an email's notifications strictly after the (createdAt, id) cursor
+     * in newest-first order.
+     */
+    @Query("SELECT " + SUMMARY_COLUMNS + " FROM NotificationRequest n WHERE n.email = :email " +
+           "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+           "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationSummaryDTO> findByEmailBefore(
+            @Param("email") String email,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit);
+
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<NotificationRequest> streamByStatus(NotificationStatus status);
+
+    /**
+     * Rows changed after {@code since} in change order, for incremental index sync across nodes.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT n FROM NotificationRequest n WHERE n.updatedAt > :since ORDER BY n.updatedAt, n.id")
+    Stream<NotificationRequest> streamUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Newest {@code updated_at} in the table, or null when it is empty; seeds the index sync
+     * watermark from the data itself rather than from this node's clock.
+     */
+    @Query("SELECT max(n.updatedAt) FROM NotificationRequest n")
+    LocalDateTime findMaxUpdatedAt();
+
+    /**
+     * Inserts an ACTIVE subscription, or widens the date window of the existing ACTIVE subscription
+     * with the same email and canonical (movie, location) keys, and returns the resulting row.
+     * The existing row keeps the names it was first registered with.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO notification_request " +
+           "(email, movie_name, location, movie_key, location_key, start_date, end_date, status, created_at, updated_at) " +
+           "VALUES (:email, :movieName, :location, :movieKey, :locationKey, :startDate, :endDate, 'ACTIVE', now(), now()) " +
+           UPSERT_ACTIVE_CONFLICT + " RETURNING *", nativeQuery = true)
+    NotificationRequest upsertActive(
+            @Param("email") String email,
+            @Param("movieName") String movieName,
+            @Param("location") String location,
+            @Param("movieKey") String movieKey,
+            @Param("locationKey") String locationKey,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate);
+
+    /**
+     * Set-based {@link #upsertActive} over parallel arrays (dates as ISO strings) in one statement.
+     * The arrays must not contain two entries with the same email and keys.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO notification_request " +
+           "(email, movie_name, location, movie_key, location_key, start_date, end_date, status, created_at, updated_at) " +
+           "SELECT t.email, t.movie_name, t.location, t.movie_key, t.location_key, " +
+           "CAST(t.start_date AS date), CAST(t.end_date AS date), 'ACTIVE', now(), now() " +
+           "FROM unnest(CAST(:emails AS text[]), CAST(:movieNames AS text[]), CAST(:locations AS text[]), " +
+           "CAST(:movieKeys AS text[]), CAST(:locationKeys AS text[]), " +
+           "CAST(:startDates AS text[]), CAST(:endDates AS text[])) " +
+           "AS t(email, movie_name, location, movie_key, location_key, start_date, end_date) " +
+           UPSERT_ACTIVE_CONFLICT + " RETURNING *", nativeQuery = true)
+    List<NotificationRequest> upsertActiveBatch(
+            @Param("emails") String[] emails,
+            @Param("movieNames") String[] movieNames,
+            @Param("locations") String[] locations,
+            @Param("movieKeys") String[] movieKeys,
+            @Param("locationKeys") String[] locationKeys,
+            @Param("startDates") String[] startDates,
+            @Param("endDates") String[] endDates);
+
+    /**
+     * Moves the given ACTIVE rows whose date range contains the release date to NOTIFIED in one
+     * statement and returns the rows actually transitioned, so a row is never notified twice.
+     * Not {@code @Modifying}: that only allows an update count, not {@code RETURNING} rows, so the
+     * caller flushes and clears the persistence context around it.
+     */
+    @Transactional
+    @Query(value = "UPDATE notification_request SET status = 'NOTIFIED', updated_at = now() " +
+           "WHERE id IN (:ids) AND status = 'ACTIVE' " +
+           "AND start_date <= :releaseDate AND end_date >= :releaseDate " +
+           "RETURNING id, email, movie_name AS \"movieName\", location, " +
+           "movie_key AS \"movieKey\", location_key AS \"locationKey\"", nativeQuery = true)
+    List<NotificationRecipient> markNotified(
+            @Param("ids") Collection<Long> ids,
+            @Param("releaseDate") LocalDate releaseDate);
+
+    /**
+     * Expires the next batch of ACTIVE rows past their end date with ids above {@code afterId}
+     * and returns the expired ids, letting callers walk the table in id order. Like
+     * {@link #markNotified}, a plain query because of {@code RETURNING}.
+     */
+    @Transactional
+    @Query(value = "UPDATE notification_request SET status = 'EXPIRED', updated_at = now() " +
+           "WHERE status = 'ACTIVE' AND id IN (" +
+           "SELECT id FROM notification_request WHERE status = 'ACTIVE' " +
+           "AND end_date < :currentDate AND id > :afterId ORDER BY id LIMIT :batchSize) " +
+           "RETURNING id", nativeQuery = true)
+    List<Long> markExpiredBatch(
+            @Param("currentDate") LocalDate currentDate,
+            @Param("afterId") long afterId,
+            @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,38 @@
+package com.notifyme.repository;
+
+import com.notifyme.entity.RateLimitBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    // Stamped with the database clock, like every refill of the shared buckets
+    @Modifying
+    @Query(value = "INSERT INTO email_rate_limit_bucket (bucket_key, tokens, refreshed_at) " +
+           "VALUES (:bucketKey, :tokens, now()) ON CONFLICT (bucket_key) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("bucketKey") String bucketKey,
+            @Param("tokens") double tokens);
+
+    /**
+     * The database's current time in microseconds since the epoch: one clock for every node
+     * refilling the shared buckets. Wall-clock time rather than {@code now()}, which is fixed at
+     * transaction start and can predate a refill committed while this transaction waited for
+     * the row locks.
+     */
+    @Query(value = "SELECT CAST(extract(epoch FROM clock_timestamp()) * 1000000 AS bigint)", nativeQuery = true)
+    long currentTimeMicros();
+
+    // Locking in key order keeps concurrent acquirers from deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<RateLimitBucket> findByBucketKeyInOrderByBucketKey(Collection<String> bucketKeys);
+}
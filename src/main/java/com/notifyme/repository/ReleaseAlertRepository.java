@@ -0,0 +1,50 @@
+package com.notifyme.repository;
+
+import com.notifyme.entity.ReleaseAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ReleaseAlertRepository extends JpaRepository<ReleaseAlert, Long> {
+
+    /**
+     * Inserts one alert per element of the parallel arrays (release date as an ISO string) in a
+     * single statement, the same way bulk registration inserts subscriptions.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO release_alert " +
+           "(notification_id, recipient, movie_name, location, release_date, created_at) " +
+           "SELECT t.notification_id, t.recipient, t.movie_name, t.location, CAST(:releaseDate AS date), :createdAt " +
+           "FROM unnest(CAST(:notificationIds AS bigint[]), CAST(:recipients AS text[]), " +
+           "CAST(:movieNames AS text[]), CAST(:locations AS text[])) " +
+           "AS t(notification_id, recipient, movie_name, location)", nativeQuery = true)
+    int insertBatch(
+            @Param("notificationIds") Long[] notificationIds,
+            @Param("recipients") String[] recipients,
+            @Param("movieNames") String[] movieNames,
+            @Param("locations") String[] locations,
+            @Param("releaseDate") String releaseDate,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Locks every pending alert of up to {@code batchSize} recipients whose digest is due, either
+     * because the oldest alert has waited out the window or because enough alerts have piled up.
+     * Rows locked by another flusher are skipped. Must run inside the transaction that enqueues
+     * the digests and deletes the alerts.
+     */
+    @Query(value = "SELECT * FROM release_alert WHERE lower(recipient) IN (" +
+           "SELECT lower(recipient) FROM release_alert GROUP BY lower(recipient) " +
+           "HAVING min(created_at) <= :windowStart OR count(*) >= :maxAlerts " +
+           "ORDER BY min(created_at) LIMIT :batchSize) " +
+           "ORDER BY lower(recipient), release_date, id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ReleaseAlert> claimDueDigests(
+            @Param("windowStart") LocalDateTime windowStart,
+            @Param("maxAlerts") int maxAlerts,
+            @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,29 @@
+package com.notifyme.repository;
+
+import com.notifyme.entity.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Takes or renews the named lease for {@code owner} unless another owner holds an unexpired
+     * one, judged by the database clock. Returns the owner when the lease is held, else nothing.
+     */
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_lease (name, owner, expires_at) " +
+           "VALUES (:name, :owner, now() + make_interval(secs => :ttlSeconds)) " +
+           "ON CONFLICT (name) DO UPDATE SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at " +
+           "WHERE scheduler_lease.owner = EXCLUDED.owner OR scheduler_lease.expires_at < now() " +
+           "RETURNING owner", nativeQuery = true)
+    List<String> tryAcquire(
+            @Param("name") String name,
+            @Param("owner") String owner,
+            @Param("ttlSeconds") double ttlSeconds);
+}
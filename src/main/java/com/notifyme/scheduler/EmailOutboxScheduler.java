@@ -0,0 +1,24 @@
+package com.notifyme.scheduler;
+
+import com.notifyme.service.EmailOutboxService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class EmailOutboxScheduler {
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void drainOutbox() {
+        boolean moreDue;
+        do {
+            moreDue = emailOutboxService.dispatchBatch();
+        } while (moreDue);
+        emailOutboxService.refreshPendingCount();
+    }
+}
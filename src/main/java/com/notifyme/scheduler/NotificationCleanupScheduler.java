@@ -0,0 +1,44 @@
+package com.notifyme.scheduler;
+
+import com.notifyme.service.NotificationArchiver;
+import com.notifyme.service.NotificationService;
+import com.notifyme.service.cluster.LeaderLease;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+public class NotificationCleanupScheduler {
+
+    private static final String LEASE = "notification-cleanup";
+    private static final String ARCHIVE_LEASE = "notification-archive";
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationArchiver notificationArchiver;
+
+    @Autowired
+    private LeaderLease leaderLease;
+
+    @Value("${cluster.lease.ttl-ms:600000}")
+    private long leaseTtlMs;
+
+    // Singleton job: only the node holding the lease expires rows; peers drop them from their
+    // index through delta sync
+    @Scheduled(cron = "${notification.cleanup.cron:0 0 1 * * *}")
+    public void cleanupExpiredNotifications() {
+        leaderLease.runIfLeader(LEASE, Duration.ofMillis(leaseTtlMs), notificationService::cleanupExpiredNotifications);
+    }
+
+    @Scheduled(cron = "${notification.archive.cron:0 30 1 * * *}")
+    public void archiveTerminalNotifications() {
+        leaderLease.runIfLeader(ARCHIVE_LEASE, Duration.ofMillis(leaseTtlMs), notificationArchiver::archive);
+    }
+}
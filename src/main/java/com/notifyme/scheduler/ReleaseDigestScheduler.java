@@ -0,0 +1,24 @@
+package com.notifyme.scheduler;
+
+import com.notifyme.service.ReleaseDigestService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class ReleaseDigestScheduler {
+
+    @Autowired
+    private ReleaseDigestService releaseDigestService;
+
+    @Scheduled(fixedDelayString = "${notification.digest.flush-interval-ms:30000}")
+    public void flushDigests() {
+        boolean moreDue;
+        do {
+            moreDue = releaseDigestService.flushDueDigests();
+        } while (moreDue);
+        releaseDigestService.refreshStagedCount();
+    }
+}
@@ -1,12 +1,27 @@
 package com.notifyme.scheduler;
 
-import com.notifyme.service.scraper.BookMyShowScraperService;
+import com.notifyme.dto.ReleaseEventDTO;
+import com.notifyme.service.NotificationService;
+import com.notifyme.service.ReleaseEventQueue;
+import com.notifyme.service.ReleaseEventQueue.Outcome;
+import com.notifyme.service.SubscriptionIndex;
+import com.notifyme.service.cluster.ClusterMembership;
+import com.notifyme.service.scraper.ScrapeFingerprintStore;
+import com.notifyme.service.scraper.ScrapeResult;
+import com.notifyme.service.scraper.ScrapeTarget;
+import com.notifyme.service.scraper.ScrapingEngine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 @Slf4j
@@ -14,34 +29,80 @@ import java.util.List;
 public class ScrapingScheduler {
 
     @Autowired
-    private BookMyShowScraperService bookMyShowScraperService;
+    private ScrapingEngine scrapingEngine;
 
-    // List of movies to monitor
-    private final List<String> moviesToMonitor = Arrays.asList(
-        "Interstellar",
-        "Dragon"
-    );
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ReleaseEventQueue releaseEventQueue;
+
+    @Autowired
+    private SubscriptionIndex subscriptionIndex;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    @Autowired
+    private ScrapeFingerprintStore fingerprintStore;
+
+    @Value("${notification.check.cron:0 */15 * * * *}")
+    private String cron;
 
-    // List of locations to monitor
-    private final List<String> locationsToMonitor = Arrays.asList(
-        "Chennai",
-        "Bangalore"
-    );
+    // Stop starting new requests this long before the next tick so runs never overlap
+    @Value("${scraping.deadline-margin-ms:30000}")
+    private long deadlineMarginMs;
 
-    @Scheduled(cron = "0 */15 * * * *") // Run every 15 minutes
+    @Value("${scraping.max-targets-per-run:500}")
+    private int maxTargetsPerRun;
+
+    /**
+     * Every node runs this tick but scrapes only the targets it owns, so replicas split the
+     * work and each target (and its release fan-out) is handled by one node.
+     */
+    @Scheduled(cron = "${notification.check.cron:0 */15 * * * *}")
     public void scrapeBookMyShow() {
-        log.info("Starting BookMyShow scraping job");
-        for (String movie : moviesToMonitor) {
-            for (String location : locationsToMonitor) {
-                try {
-                    bookMyShowScraperService.scrapeMovieShows(movie, location);
-                    // Add delay between requests to avoid rate limiting
-                    Thread.sleep(5000);
-                } catch (Exception e) {
-                    log.error("Error scraping {} in {}: {}", movie, location, e.getMessage());
-                }
+        log.info("Starting BookMyShow scraping job on node {} of {}",
+            clusterMembership.nodeId(), clusterMembership.liveNodeCount());
+        // Highest demand first, so the deadline only ever cuts off the least wanted pairs
+        List<ScrapeTarget> targets = subscriptionIndex
+            .rankDemand(LocalDate.now(), maxTargetsPerRun,
+                (movieName, location) -> clusterMembership.owns(new ScrapeTarget(movieName, location).key()))
+            .stream()
+            .map(demand -> new ScrapeTarget(demand.movieName(), demand.location()))
+            .toList();
+        if (targets.isEmpty()) {
+            log.info("No active subscriptions, skipping BookMyShow scraping job");
+            return;
+        }
+
+        for (ScrapeResult result : scrapingEngine.scrape(targets, nextRunDeadline())) {
+            try {
+                submitReleases(result);
+                fingerprintStore.commit(result);
+            } catch (RuntimeException e) {
+                // Fingerprint left as it was, so the next run reports these dates again
+                log.error("Failed to hand on releases of {} in {}",
+                    result.target().movieName(), result.target().location(), e);
             }
         }
         log.info("Completed BookMyShow scraping job");
     }
-} 
\ No newline at end of file
+
+    private void submitReleases(ScrapeResult result) {
+        ScrapeTarget target = result.target();
+        for (LocalDate showDate : result.newlyBookableDates()) {
+            Outcome outcome = releaseEventQueue.submit(new ReleaseEventDTO(target.movieName(), target.location(), showDate));
+            if (outcome == Outcome.REJECTED) {
+                // A full queue must not lose a scraped release: process it on this thread instead
+                notificationService.processMovieRelease(target.movieName(), target.location(), showDate);
+            }
+        }
+    }
+
+    private Instant nextRunDeadline() {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDateTime nextRun = CronExpression.parse(cron).next(LocalDateTime.now(zone));
+        return nextRun.atZone(zone).toInstant().minus(Duration.ofMillis(deadlineMarginMs));
+    }
+}
@@ -0,0 +1,119 @@
+package com.notifyme.service;
+
+import com.notifyme.entity.EmailOutbox;
+import com.notifyme.entity.EmailOutboxStatus;
+import com.notifyme.repository.EmailOutboxRepository;
+import com.notifyme.service.ratelimit.EmailRateLimiter;
+import com.notifyme.service.ratelimit.RateLimitDecision;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class EmailOutboxService {
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailRateLimiter emailRateLimiter;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.retry-backoff-ms:60000}")
+    private long retryBackoffMs;
+
+    private final AtomicLong pendingEmails = new AtomicLong();
+
+    public EmailOutboxService(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("notifyme.outbox.pending", pendingEmails);
+    }
+
+    /**
+     * Queues an email in the caller's transaction, so it is persisted if and only if
+     * the surrounding status change commits.
+     */
+    @Transactional
+    public void enqueue(String to, String subject, String body) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject(subject);
+        email.setBody(body);
+        emailOutboxRepository.save(email);
+    }
+
+    /**
+     * Sends one batch of due emails and returns whether another full batch may be waiting.
+     * Rows are claimed with FOR UPDATE SKIP LOCKED, so dispatchers on several nodes work on
+     * disjoint batches and no email is sent twice.
+     */
+    @Transactional
+    public boolean dispatchBatch() {
+        List<EmailOutbox> batch = emailOutboxRepository.claimDueBatch(LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return false;
+        }
+
+        RateLimitDecision decision = emailRateLimiter.tryAcquire(batch.size());
+        int granted = decision.granted();
+        List<EmailOutbox> sending = batch.subList(0, granted);
+        Map<Long, Exception> failures = emailService.sendBatch(sending);
+        for (EmailOutbox email : sending) {
+            Exception failure = failures.get(email.getId());
+            if (failure == null) {
+                email.setStatus(EmailOutboxStatus.SENT);
+            } else {
+                recordFailure(email, failure);
+            }
+        }
+
+        if (granted < batch.size()) {
+            // Defer the rest until the limiter has tokens again rather than re-claiming them every poll
+            LocalDateTime resumeAt = LocalDateTime.now().plus(decision.retryAfter());
+            batch.subList(granted, batch.size()).forEach(email -> email.setNextAttemptAt(resumeAt));
+            log.info("Email rate limit reached, deferred {} outbox emails until {}", batch.size() - granted, resumeAt);
+            return false;
+        }
+        return batch.size() == batchSize;
+    }
+
+    /**
+     * Refreshes the {@code notifyme.outbox.pending} gauge; called once per drain rather than on
+     * every metrics scrape.
+     */
+    public void refreshPendingCount() {
+        pendingEmails.set(emailOutboxRepository.countByStatus(EmailOutboxStatus.PENDING));
+    }
+
+    private void recordFailure(EmailOutbox email, Exception failure) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        email.setLastError(failure.getMessage());
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.FAILED);
+            log.error("Giving up on outbox email {} to {} after {} attempts",
+                email.getId(), email.getRecipient(), attempts);
+        } else {
+            // Exponential backoff: base, 2x base, 4x base, ...
+            email.setNextAttemptAt(LocalDateTime.now()
+                .plus(Duration.ofMillis(retryBackoffMs).multipliedBy(1L << (attempts - 1))));
+        }
+    }
+}
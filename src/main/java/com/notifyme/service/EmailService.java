@@ -1,16 +1,27 @@
 package com.notifyme.service;
 
+import com.google.common.collect.Lists;
+import com.notifyme.entity.EmailOutbox;
+import com.notifyme.service.mail.SmtpConnectionPool;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Service
@@ -19,37 +30,96 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
 
-    @Value("${email.rate.limit.per.hour:50}")
-    private int hourlyLimit;
+    @Autowired
+    private SmtpConnectionPool smtpConnectionPool;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    // One sub-batch per pooled connection, so a batch keeps every connection busy
+    @Value("${email.smtp.pool.size:2}")
+    private int parallelism;
+
+    @Value("${email.smtp.min-sub-batch-size:10}")
+    private int minSubBatchSize;
+
+    /**
+     * Sends the emails over the pooled SMTP connections, split into sub-batches that run in
+     * parallel on the {@code taskExecutor}, and returns the failures keyed by outbox id. Callers
+     * go through {@link EmailOutboxService} so failed emails are retried.
+     */
+    public Map<Long, Exception> sendBatch(List<EmailOutbox> emails) {
+        Map<Long, Exception> failures = new HashMap<>();
+        if (emails.isEmpty()) {
+            return failures;
+        }
+
+        List<EmailOutbox> prepared = new ArrayList<>(emails.size());
+        List<MimeMessage> messages = new ArrayList<>(emails.size());
+        for (EmailOutbox email : emails) {
+            try {
+                messages.add(toMimeMessage(email));
+                prepared.add(email);
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e);
+            }
+        }
+
+        int subBatchSize = Math.max(minSubBatchSize, (messages.size() + parallelism - 1) / parallelism);
+        List<List<MimeMessage>> subBatches = Lists.partition(messages, subBatchSize);
+        List<CompletableFuture<Map<Integer, Exception>>> sends = new ArrayList<>(subBatches.size());
+        for (List<MimeMessage> subBatch : subBatches) {
+            sends.add(subBatches.size() == 1 ? sendNow(subBatch) : sendAsync(subBatch));
+        }
+
+        for (int i = 0; i < sends.size(); i++) {
+            int offset = i * subBatchSize;
+            List<EmailOutbox> sent = prepared.subList(offset, offset + subBatches.get(i).size());
+            try {
+                sends.get(i).join().forEach((index, e) -> failures.put(sent.get(index).getId(), e));
+            } catch (CompletionException e) {
+                Exception cause = e.getCause() instanceof Exception exception ? exception : e;
+                log.error("Failed to send batch of {} emails", sent.size(), cause);
+                sent.forEach(email -> failures.put(email.getId(), cause));
+            }
+        }
+
+        log.info("Sent {} of {} emails", emails.size() - failures.size(), emails.size());
+        return failures;
+    }
 
-    private final AtomicInteger hourlyCount = new AtomicInteger(0);
+    private CompletableFuture<Map<Integer, Exception>> sendAsync(List<MimeMessage> subBatch) {
+        try {
+            return CompletableFuture.supplyAsync(() -> send(subBatch), taskExecutor);
+        } catch (RejectedExecutionException e) {
+            // Saturated executor: fail the sub-batch and let the outbox back it off
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-    @Async
-    @Retryable(maxAttempts = 3, backoff = @Backoff(delay = 1000))
-    public void sendEmail(String to, String subject, String body) {
-        if (hourlyCount.get() >= hourlyLimit) {
-            log.warn("Hourly email limit reached. Email to {} queued for next hour.", to);
-            return;
+    private CompletableFuture<Map<Integer, Exception>> sendNow(List<MimeMessage> subBatch) {
+        try {
+            return CompletableFuture.completedFuture(send(subBatch));
+        } catch (CompletionException e) {
+            return CompletableFuture.failedFuture(e.getCause());
         }
+    }
 
+    private Map<Integer, Exception> send(List<MimeMessage> subBatch) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            
-            mailSender.send(message);
-            hourlyCount.incrementAndGet();
-            
-            log.info("Email sent successfully to: {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to: {}", to, e);
-            throw e;
+            return smtpConnectionPool.send(subBatch);
+        } catch (MessagingException e) {
+            throw new CompletionException(e);
         }
     }
 
-    // Reset hourly count (should be called by a scheduled task)
-    public void resetHourlyCount() {
-        hourlyCount.set(0);
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return message;
     }
-} 
\ No newline at end of file
+}
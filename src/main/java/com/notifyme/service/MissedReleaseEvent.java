@@ -0,0 +1,10 @@
+package com.notifyme.service;
+
+import java.time.LocalDate;
+
+/**
+ * A subscription was indexed (or widened) over a show date the scraper had already seen as
+ * bookable, so no scrape will report that date to it; the release has to be replayed for it.
+ */
+public record MissedReleaseEvent(String movieName, String location, LocalDate showDate) {
+}
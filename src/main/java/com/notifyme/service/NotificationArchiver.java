@@ -0,0 +1,65 @@
+package com.notifyme.service;
+
+import com.notifyme.repository.NotificationArchiveRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves terminal notification rows into the month-partitioned archive table in batches, then
+ * drops archive partitions past retention, which costs a catalog change instead of a DELETE.
+ */
+@Slf4j
+@Service
+public class NotificationArchiver {
+
+    @Autowired
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Terminal rows stay in the hot table this long, so recent history reads stay on one table
+    @Value("${notification.archive.min-age-days:7}")
+    private int minAgeDays;
+
+    @Value("${notification.archive.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${notification.archive.retention-months:24}")
+    private int retentionMonths;
+
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        int archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+
+        LocalDate retainFrom = LocalDate.now().withDayOfMonth(1).minusMonths(retentionMonths);
+        int dropped = notificationArchiveRepository.dropPartitionsBefore(retainFrom.toString());
+        log.info("Archived {} terminal notifications, dropped {} archive partitions ending before {}",
+            archived, dropped, retainFrom);
+    }
+
+    /**
+     * Locks one batch, makes sure a partition exists for every end_date month in it (so nothing
+     * lands in the default partition), and moves it with a single DELETE ... INSERT statement.
+     */
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = notificationArchiveRepository.lockArchivableBatch(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        notificationArchiveRepository.findEndMonths(ids).forEach(notificationArchiveRepository::ensurePartition);
+        return notificationArchiveRepository.moveToArchive(ids).size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.notifyme.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import com.notifyme.dto.NotificationPageDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import static com.notifyme.service.TransactionHooks.afterCommit;
+
+/**
+ * First pages of per-email notification lookups, kept already serialized to JSON together with
+ * their ETag, so a repeat poll costs neither a query nor serialization. Entries are dropped after
+ * commit of any change to the email's rows; the TTL bounds staleness from changes on other nodes
+ * that reach this one only through the subscription index sync.
+ */
+@Component
+public class NotificationPageCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Pages by size within an email, so one invalidation drops every size at once
+    private final Cache<String, Map<Integer, RenderedPage>> pagesByEmail;
+
+    public NotificationPageCache(
+            @Value("${notification.page-cache.max-emails:50000}") long maxEmails,
+            @Value("${notification.page-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.pagesByEmail = CacheBuilder.newBuilder()
+            .maximumSize(maxEmails)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .build();
+    }
+
+    /**
+     * Returns the cached first page of {@code size} for the email, loading it on a miss. A load
+     * racing with an invalidation lands in the discarded map, never in the cache.
+     */
+    public RenderedPage get(String email, int size, IntFunction<NotificationPageDTO> loader) {
+        Map<Integer, RenderedPage> pages = pagesByEmail.asMap().computeIfAbsent(email, key -> new ConcurrentHashMap<>());
+        return pages.computeIfAbsent(size, pageSize -> render(loader.apply(pageSize)));
+    }
+
+    public RenderedPage render(NotificationPageDTO page) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(page.getNotifications());
+            String etag = '"' + Hashing.murmur3_128().hashBytes(body).toString() + '"';
+            return new RenderedPage(body, etag, page.getNextCursor());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notifications", e);
+        }
+    }
+
+    public void invalidate(String email) {
+        afterCommit(() -> pagesByEmail.invalidate(email));
+    }
+
+    /**
+     * {@link #invalidate(String)} for many emails with a single after-commit hook.
+     */
+    public void invalidate(Collection<String> emails) {
+        List<String> copy = List.copyOf(emails);
+        afterCommit(() -> pagesByEmail.invalidateAll(copy));
+    }
+
+    public void invalidateAll() {
+        afterCommit(pagesByEmail::invalidateAll);
+    }
+
+    /**
+     * A page as sent on the wire: the JSON array body, its strong ETag and the next-page cursor.
+     */
+    public record RenderedPage(byte[] body, String etag, String nextCursor) {
+    }
+}
@@ -1,78 +1,347 @@
 package com.notifyme.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.notifyme.dto.BulkItemErrorDTO;
+import com.notifyme.dto.BulkRegistrationResultDTO;
+import com.notifyme.dto.NotificationCursor;
+import com.notifyme.dto.NotificationPageDTO;
+import com.notifyme.dto.NotificationRecipient;
 import com.notifyme.dto.NotificationRequestDTO;
+import com.notifyme.dto.NotificationSummaryDTO;
 import com.notifyme.entity.NotificationRequest;
 import com.notifyme.entity.NotificationStatus;
+import com.notifyme.repository.NotificationArchiveRepository;
 import com.notifyme.repository.NotificationRepository;
+import com.notifyme.service.NotificationPageCache.RenderedPage;
+import com.notifyme.service.matching.MatchKeys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class NotificationService {
 
+    private static final Comparator<NotificationSummaryDTO> NEWEST_FIRST = Comparator
+        .comparing(NotificationSummaryDTO::createdAt).thenComparing(NotificationSummaryDTO::id).reversed();
+
     @Autowired
     private NotificationRepository notificationRepository;
 
     @Autowired
-    private EmailService emailService;
+    private ReleaseDigestService releaseDigestService;
+
+    @Autowired
+    private SubscriptionIndex subscriptionIndex;
+
+    @Value("${notification.bulk-update.chunk-size:1000}")
+    private int bulkUpdateChunkSize;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NotificationPageCache notificationPageCache;
+
+    @Autowired
+    private NotificationArchiveRepository notificationArchiveRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
+    @Value("${notification.page.max-size:200}")
+    private int maxPageSize;
+
+    @Value("${notification.bulk.max-items:10000}")
+    private int maxBulkItems;
+
+    @Value("${notification.bulk.chunk-size:1000}")
+    private int bulkInsertChunkSize;
+
+    /**
+     * Registers a subscription idempotently: a registration already covered by the user's ACTIVE
+     * subscription for the same movie and location returns that row without writing, and an
+     * overlapping one widens its date window instead of adding a row.
+     */
     @Transactional
     public NotificationRequest registerNotification(NotificationRequestDTO dto) {
         validateDateRange(dto.getStartDate(), dto.getEndDate());
 
-        NotificationRequest notification = new NotificationRequest();
-        notification.setEmail(dto.getEmail());
-        notification.setMovieName(dto.getMovieName());
-        notification.setLocation(dto.getLocation());
-        notification.setStartDate(dto.getStartDate());
-        notification.setEndDate(dto.getEndDate());
-        notification.setStatus(NotificationStatus.ACTIVE);
+        Optional<NotificationRequest> existing = subscriptionIndex
+            .findCovering(dto.getEmail(), dto.getMovieName(), dto.getLocation(), dto.getStartDate(), dto.getEndDate())
+            .flatMap(notificationRepository::findById)
+            .filter(NotificationRequest::isActive);
+        if (existing.isPresent()) {
+            log.debug("Notification request already registered: {}", existing.get());
+            return existing.get();
+        }
 
-        notification = notificationRepository.save(notification);
-        log.info("Registered new notification request: {}", notification);
+        NotificationRequest notification = notificationRepository.upsertActive(
+            dto.getEmail().trim(), dto.getMovieName().trim(), dto.getLocation().trim(),
+            MatchKeys.movie(dto.getMovieName()), MatchKeys.location(dto.getLocation()),
+            dto.getStartDate(), dto.getEndDate());
+        subscriptionIndex.add(notification);
+        notificationPageCache.invalidate(notification.getEmail());
+        log.debug("Registered notification request: {}", notification);
         
         return notification;
     }
 
-    public List<NotificationRequest> getNotificationsByEmail(String email) {
-        return notificationRepository.findByEmailOrderByCreatedAtDesc(email);
+    /**
+     * Binds and validates every item on its own, reporting failures by position, and upserts the
+     * valid ones one set-based statement per chunk, each committed in its own transaction.
+     */
+    public BulkRegistrationResultDTO registerNotifications(Iterator<JsonNode> items) {
+        List<NotificationRequestDTO> valid = new ArrayList<>();
+        List<BulkItemErrorDTO> failed = new ArrayList<>();
+        int received = 0;
+        while (items.hasNext()) {
+            if (received == maxBulkItems) {
+                throw new IllegalArgumentException("Bulk registration accepts at most " + maxBulkItems + " items");
+            }
+            NotificationRequestDTO dto = null;
+            List<String> errors;
+            try {
+                dto = objectMapper.treeToValue(items.next(), NotificationRequestDTO.class);
+                errors = dto != null ? validate(dto) : List.of("Item must be a JSON object");
+            } catch (JsonProcessingException e) {
+                errors = List.of(bindingError(e));
+            }
+            if (errors.isEmpty()) {
+                valid.add(dto);
+            } else {
+                failed.add(new BulkItemErrorDTO(received, errors));
+            }
+            received++;
+        }
+
+        for (List<NotificationRequestDTO> chunk : Lists.partition(valid, bulkInsertChunkSize)) {
+            transactionTemplate.executeWithoutResult(status -> upsertChunk(chunk).forEach(notification -> {
+                subscriptionIndex.add(notification);
+                notificationPageCache.invalidate(notification.getEmail());
+            }));
+        }
+        log.info("Bulk registered {} of {} notification requests", valid.size(), received);
+
+        return new BulkRegistrationResultDTO(received, valid.size(), failed);
+    }
+
+    @Transactional
+    public NotificationRequest cancelNotification(Long id) {
+        NotificationRequest notification = notificationRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Notification not found: " + id));
+        if (!notification.isActive()) {
+            throw new IllegalArgumentException("Only active notifications can be cancelled");
+        }
+
+        notification.setStatus(NotificationStatus.CANCELLED);
+        notification = notificationRepository.save(notification);
+        subscriptionIndex.remove(notification);
+        notificationPageCache.invalidate(notification.getEmail());
+        log.info("Cancelled notification request: {}", notification);
+
+        return notification;
+    }
+
+    /**
+     * Returns one newest-first page of the email's notifications serialized for the wire. First
+     * pages, which polling clients fetch repeatedly, come from {@link NotificationPageCache}.
+     */
+    public RenderedPage getNotificationPage(String email, String cursor, int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + maxPageSize);
+        }
+        if (cursor == null) {
+            return notificationPageCache.get(email, size, pageSize -> getNotificationsByEmail(email, null, pageSize));
+        }
+        return notificationPageCache.render(getNotificationsByEmail(email, cursor, size));
+    }
+
+    /**
+     * Pages over the hot table and the archive together: both are read with the same keyset
+     * bounds and merged, since archived rows are not necessarily older than hot ones. The hot
+     * table is read first so a row archived in between is seen twice rather than missed.
+     */
+    public NotificationPageDTO getNotificationsByEmail(String email, String cursor, int size) {
+        // Fetch one extra row to learn whether another page exists
+        Limit limit = Limit.of(size + 1);
+        List<NotificationSummaryDTO> hot;
+        List<NotificationSummaryDTO> archived;
+        if (cursor == null) {
+            hot = notificationRepository.findLatestByEmail(email, limit);
+            archived = notificationArchiveRepository.findLatestByEmail(email, limit);
+        } else {
+            NotificationCursor position = NotificationCursor.decode(cursor);
+            hot = notificationRepository.findByEmailBefore(email, position.createdAt(), position.id(), limit);
+            archived = notificationArchiveRepository.findByEmailBefore(
+                email, position.createdAt(), position.id(), limit);
+        }
+        List<NotificationSummaryDTO> notifications = mergeNewestFirst(hot, archived, size + 1);
+
+        if (notifications.size() <= size) {
+            return new NotificationPageDTO(notifications, null);
+        }
+        List<NotificationSummaryDTO> page = notifications.subList(0, size);
+        NotificationSummaryDTO last = page.get(size - 1);
+        return new NotificationPageDTO(page, new NotificationCursor(last.createdAt(), last.id()).encode());
+    }
+
+    private static List<NotificationSummaryDTO> mergeNewestFirst(List<NotificationSummaryDTO> first,
+                                                                 List<NotificationSummaryDTO> second, int limit) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        List<NotificationSummaryDTO> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            int order = i == first.size() ? 1 : j == second.size() ? -1 : NEWEST_FIRST.compare(first.get(i), second.get(j));
+            if (order == 0) {
+                // Archived between the two reads: the hot table is read first, so it shows up in both
+                j++;
+            }
+            merged.add(order <= 0 ? first.get(i++) : second.get(j++));
+        }
+        return merged;
     }
 
     @Transactional
     public void processMovieRelease(String movieName, String location, LocalDate releaseDate) {
-        List<NotificationRequest> activeNotifications = notificationRepository
-            .findActiveNotificationsInDateRange(NotificationStatus.ACTIVE, releaseDate);
-
-        for (NotificationRequest notification : activeNotifications) {
-            if (notification.getMovieName().equalsIgnoreCase(movieName) &&
-                notification.getLocation().equalsIgnoreCase(location)) {
-                
-                sendNotification(notification, releaseDate);
-                notification.setStatus(NotificationStatus.NOTIFIED);
-                notificationRepository.save(notification);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            List<Long> matchingIds = subscriptionIndex.findMatchingIds(movieName, location, releaseDate);
+            meterRegistry.summary("notifyme.release.matches").record(matchingIds.size());
+            if (!matchingIds.isEmpty()) {
+                notifyMatches(matchingIds, movieName, location, releaseDate);
+            }
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("notifyme.release.processing", "outcome", outcome));
+        }
+    }
+
+    private void notifyMatches(List<Long> matchingIds, String movieName, String location, LocalDate releaseDate) {
+        // Sorted chunks keep each UPDATE on a contiguous id range
+        Collections.sort(matchingIds);
+        // markNotified changes rows behind Hibernate's back: pending changes go out first, and
+        // the transitioned rows must not be read back from the persistence context afterwards
+        entityManager.flush();
+        int notified = 0;
+        for (List<Long> chunk : Lists.partition(matchingIds, bulkUpdateChunkSize)) {
+            List<NotificationRecipient> recipients = notificationRepository.markNotified(chunk, releaseDate);
+            // Emails go out from the digest flush, grouped with the recipients' other releases
+            releaseDigestService.stage(recipients, releaseDate);
+            // Registers two after-commit hooks per chunk instead of two per recipient
+            subscriptionIndex.removeAll(recipients);
+            notificationPageCache.invalidate(recipients.stream().map(NotificationRecipient::getEmail).toList());
+            notified += recipients.size();
+        }
+        // Drops NotificationRequest entities whose status the updates made stale
+        entityManager.clear();
+        log.info("Notified {} of {} matching subscriptions for {} in {}",
+            notified, matchingIds.size(), movieName, location);
+    }
+
+    private static String bindingError(JsonProcessingException e) {
+        String path = e instanceof JsonMappingException mapping
+            ? mapping.getPath().stream()
+                .map(reference -> reference.getFieldName() != null ? reference.getFieldName() : "[" + reference.getIndex() + "]")
+                .collect(Collectors.joining("."))
+            : "";
+        return path.isEmpty() ? e.getOriginalMessage() : path + ": " + e.getOriginalMessage();
+    }
+
+    private List<String> validate(NotificationRequestDTO dto) {
+        List<String> errors = new ArrayList<>();
+        validator.validate(dto).forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        if (errors.isEmpty()) {
+            try {
+                validateDateRange(dto.getStartDate(), dto.getEndDate());
+            } catch (IllegalArgumentException e) {
+                errors.add(e.getMessage());
             }
         }
+        return errors;
     }
 
-    private void sendNotification(NotificationRequest notification, LocalDate releaseDate) {
-        String subject = String.format("Movie Alert: %s is now available!", notification.getMovieName());
-        String body = String.format(
-            "Dear Movie Fan,\n\n" +
-            "Great news! The movie '%s' is now available for booking in %s on %s.\n\n" +
-            "Don't miss out - book your tickets now!\n\n" +
-            "Best regards,\nNotifyMe Team",
-            notification.getMovieName(),
-            notification.getLocation(),
-            releaseDate
-        );
-
-        emailService.sendEmail(notification.getEmail(), subject, body);
+    /**
+     * Merges items sharing an email and canonical (movie, location) first, since one upsert
+     * statement cannot touch the same row twice.
+     */
+    private List<NotificationRequest> upsertChunk(List<NotificationRequestDTO> chunk) {
+        Map<String, NotificationRequestDTO> merged = new LinkedHashMap<>();
+        for (NotificationRequestDTO dto : chunk) {
+            String key = dto.getEmail().trim().toLowerCase(Locale.ROOT) + '\u0000'
+                + MatchKeys.pair(dto.getMovieName(), dto.getLocation());
+            merged.merge(key, dto, (first, second) -> {
+                NotificationRequestDTO widened = new NotificationRequestDTO();
+                widened.setEmail(first.getEmail());
+                widened.setMovieName(first.getMovieName());
+                widened.setLocation(first.getLocation());
+                widened.setStartDate(first.getStartDate().isBefore(second.getStartDate())
+                    ? first.getStartDate() : second.getStartDate());
+                widened.setEndDate(first.getEndDate().isAfter(second.getEndDate())
+                    ? first.getEndDate() : second.getEndDate());
+                return widened;
+            });
+        }
+
+        int size = merged.size();
+        String[] emails = new String[size];
+        String[] movieNames = new String[size];
+        String[] locations = new String[size];
+        String[] movieKeys = new String[size];
+        String[] locationKeys = new String[size];
+        String[] startDates = new String[size];
+        String[] endDates = new String[size];
+        int i = 0;
+        for (NotificationRequestDTO dto : merged.values()) {
+            emails[i] = dto.getEmail().trim();
+            movieNames[i] = dto.getMovieName().trim();
+            locations[i] = dto.getLocation().trim();
+            movieKeys[i] = MatchKeys.movie(dto.getMovieName());
+            locationKeys[i] = MatchKeys.location(dto.getLocation());
+            startDates[i] = dto.getStartDate().toString();
+            endDates[i] = dto.getEndDate().toString();
+            i++;
+        }
+        return notificationRepository.upsertActiveBatch(
+            emails, movieNames, locations, movieKeys, locationKeys, startDates, endDates);
     }
 
     private void validateDateRange(LocalDate startDate, LocalDate endDate) {
@@ -84,15 +353,29 @@ public class NotificationService {
         }
     }
 
-    @Transactional
+    /**
+     * Expires ACTIVE notifications past their end date in id-ordered batches, each batch
+     * committed on its own so a large backlog never builds one huge transaction. Deliberately
+     * not transactional: each batch's persistence context closes with its commit, so no entity
+     * loaded before a batch can outlive it with a stale status.
+     */
     public void cleanupExpiredNotifications() {
-        List<NotificationRequest> expiredNotifications = notificationRepository
-            .findExpiredNotifications(NotificationStatus.ACTIVE, LocalDate.now());
+        LocalDate today = LocalDate.now();
+        long afterId = 0;
+        int expired = 0;
+        List<Long> batch;
+        do {
+            batch = notificationRepository.markExpiredBatch(today, afterId, bulkUpdateChunkSize);
+            if (!batch.isEmpty()) {
+                afterId = Collections.max(batch);
+                expired += batch.size();
+            }
+        } while (batch.size() == bulkUpdateChunkSize);
 
-        for (NotificationRequest notification : expiredNotifications) {
-            notification.setStatus(NotificationStatus.EXPIRED);
-            notificationRepository.save(notification);
-            log.info("Marked notification as expired: {}", notification);
+        subscriptionIndex.removeExpired(today);
+        if (expired > 0) {
+            notificationPageCache.invalidateAll();
         }
+        log.info("Marked {} notifications as expired", expired);
     }
-} 
\ No newline at end of file
+}
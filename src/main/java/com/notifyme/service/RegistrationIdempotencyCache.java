@@ -0,0 +1,57 @@
+package com.notifyme.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.notifyme.dto.NotificationRequestDTO;
+import com.notifyme.entity.NotificationRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Replays the result of a registration for a repeated {@code Idempotency-Key} without touching
+ * the database. Entries are bounded in number and expire; concurrent requests with the same key
+ * wait for the first one instead of registering twice.
+ */
+@Component
+public class RegistrationIdempotencyCache {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    private final Cache<String, Registration> registrations;
+
+    public RegistrationIdempotencyCache(
+            @Value("${notification.idempotency.max-keys:100000}") long maxKeys,
+            @Value("${notification.idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        this.registrations = CacheBuilder.newBuilder()
+            .maximumSize(maxKeys)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+    }
+
+    public NotificationRequest register(String idempotencyKey, NotificationRequestDTO dto) {
+        Registration registration;
+        try {
+            registration = registrations.get(idempotencyKey,
+                () -> new Registration(dto, notificationService.registerNotification(dto)));
+        } catch (UncheckedExecutionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        if (!registration.request().equals(dto)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used with a different request");
+        }
+        return registration.result();
+    }
+
+    private record Registration(NotificationRequestDTO request, NotificationRequest result) {
+    }
+}
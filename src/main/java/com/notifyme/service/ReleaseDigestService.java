@@ -0,0 +1,149 @@
+package com.notifyme.service;
+
+import com.notifyme.dto.NotificationRecipient;
+import com.notifyme.entity.ReleaseAlert;
+import com.notifyme.repository.ReleaseAlertRepository;
+import com.notifyme.service.template.EmailTemplateService;
+import com.notifyme.service.template.EmailTemplateService.CompiledEmailTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sits between release matching and the email outbox: matched releases are staged per recipient
+ * and rolled into one email when the recipient's oldest alert has waited out the digest window
+ * or the size cap is reached, so several releases in one scrape cycle cost a single send.
+ */
+@Slf4j
+@Service
+public class ReleaseDigestService {
+
+    private static final String RELEASE_TEMPLATE = "MOVIE_RELEASE";
+    private static final List<String> RELEASE_TEMPLATE_PARAMETERS = List.of("movieName", "location", "releaseDate");
+    private static final String DIGEST_TEMPLATE = "MOVIE_RELEASE_DIGEST";
+    private static final List<String> DIGEST_TEMPLATE_PARAMETERS = List.of("count", "releases");
+
+    @Autowired
+    private ReleaseAlertRepository releaseAlertRepository;
+
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+
+    @Value("${notification.digest.window-ms:600000}")
+    private long windowMs;
+
+    @Value("${notification.digest.max-alerts:20}")
+    private int maxAlerts;
+
+    @Value("${notification.digest.batch-size:200}")
+    private int batchSize;
+
+    private final AtomicLong stagedAlerts = new AtomicLong();
+
+    public ReleaseDigestService(MeterRegistry meterRegistry) {
+        meterRegistry.gauge("notifyme.digest.staged", stagedAlerts);
+    }
+
+    /**
+     * Stages an alert per recipient in the caller's transaction, so alerts exist if and only if
+     * the status change that matched them commits.
+     */
+    @Transactional
+    public void stage(List<NotificationRecipient> recipients, LocalDate releaseDate) {
+        if (recipients.isEmpty()) {
+            return;
+        }
+        int size = recipients.size();
+        Long[] notificationIds = new Long[size];
+        String[] emails = new String[size];
+        String[] movieNames = new String[size];
+        String[] locations = new String[size];
+        for (int i = 0; i < size; i++) {
+            NotificationRecipient recipient = recipients.get(i);
+            notificationIds[i] = recipient.getId();
+            emails[i] = recipient.getEmail();
+            movieNames[i] = recipient.getMovieName();
+            locations[i] = recipient.getLocation();
+        }
+        releaseAlertRepository.insertBatch(notificationIds, emails, movieNames, locations,
+            releaseDate.toString(), LocalDateTime.now());
+    }
+
+    /**
+     * Enqueues one email for each recipient whose digest is due and deletes the alerts it covers,
+     * returning whether another full batch of recipients may be waiting.
+     */
+    @Transactional
+    public boolean flushDueDigests() {
+        List<ReleaseAlert> claimed = releaseAlertRepository.claimDueDigests(
+            LocalDateTime.now().minusNanos(windowMs * 1_000_000), maxAlerts, batchSize);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+
+        Map<String, List<ReleaseAlert>> byRecipient = new LinkedHashMap<>();
+        for (ReleaseAlert alert : claimed) {
+            byRecipient.computeIfAbsent(alert.getRecipient().toLowerCase(Locale.ROOT), key -> new ArrayList<>())
+                .add(alert);
+        }
+
+        StringBuilder buffer = new StringBuilder(512);
+        StringBuilder releases = new StringBuilder(256);
+        for (List<ReleaseAlert> alerts : byRecipient.values()) {
+            if (alerts.size() == 1) {
+                sendSingle(alerts.get(0), buffer);
+            } else {
+                sendDigest(alerts, buffer, releases);
+            }
+        }
+        releaseAlertRepository.deleteAllInBatch(claimed);
+
+        log.info("Flushed {} release alerts as {} digest emails", claimed.size(), byRecipient.size());
+        return byRecipient.size() == batchSize;
+    }
+
+    /**
+     * Refreshes the {@code notifyme.digest.staged} gauge; called once per flush.
+     */
+    public void refreshStagedCount() {
+        stagedAlerts.set(releaseAlertRepository.count());
+    }
+
+    private void sendSingle(ReleaseAlert alert, StringBuilder buffer) {
+        CompiledEmailTemplate template = emailTemplateService.getTemplate(RELEASE_TEMPLATE, RELEASE_TEMPLATE_PARAMETERS);
+        Object[] values = {alert.getMovieName(), alert.getLocation(), alert.getReleaseDate()};
+        String subject = template.subject().render(buffer, values);
+        String body = template.body().render(buffer, values);
+        emailOutboxService.enqueue(alert.getRecipient(), subject, body);
+    }
+
+    private void sendDigest(List<ReleaseAlert> alerts, StringBuilder buffer, StringBuilder releases) {
+        CompiledEmailTemplate template = emailTemplateService.getTemplate(DIGEST_TEMPLATE, DIGEST_TEMPLATE_PARAMETERS);
+        releases.setLength(0);
+        for (ReleaseAlert alert : alerts) {
+            releases.append("- ").append(alert.getMovieName())
+                .append(" in ").append(alert.getLocation())
+                .append(" on ").append(alert.getReleaseDate())
+                .append('\n');
+        }
+        Object[] values = {alerts.size(), releases};
+        String subject = template.subject().render(buffer, values);
+        String body = template.body().render(buffer, values);
+        emailOutboxService.enqueue(alerts.get(0).getRecipient(), subject, body);
+    }
+}
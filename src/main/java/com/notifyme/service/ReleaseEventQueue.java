@@ -0,0 +1,220 @@
+package com.notifyme.service;
+
+import com.notifyme.dto.ReleaseEventDTO;
+import com.notifyme.service.matching.MatchKeys;
+import com.notifyme.service.scraper.ScrapeFingerprintStore;
+import com.notifyme.service.scraper.ScrapeTarget;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory queue between release sources (the ingestion API, the scraper) and
+ * {@link NotificationService#processMovieRelease}. A release is held for the coalescing window
+ * after it first arrives; repeats of the same (movie, location, date) in that time are merged
+ * into it, so a burst of duplicate feed events costs one fan-out. A fixed set of workers
+ * processes releases as their window closes.
+ */
+@Slf4j
+@Component
+public class ReleaseEventQueue {
+
+    public enum Outcome {
+        ACCEPTED,
+        COALESCED,
+        REJECTED
+    }
+
+    // How often an idle worker checks whether the queue is shutting down
+    private static final long WORKER_POLL_MS = 200;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ScrapeFingerprintStore fingerprintStore;
+
+    @Value("${release.ingest.coalesce-window-ms:5000}")
+    private long coalesceWindowMs;
+
+    @Value("${release.ingest.workers:2}")
+    private int workerCount;
+
+    // How long shutdown keeps processing queued releases before giving up on the rest
+    @Value("${release.ingest.shutdown-drain-ms:10000}")
+    private long shutdownDrainMs;
+
+    private final Map<String, PendingRelease> pendingByKey = new ConcurrentHashMap<>();
+    private final DelayQueue<PendingRelease> due = new DelayQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    // One permit per queued release, reserved before inserting so concurrent submitters
+    // cannot push the queue past capacity
+    private final Semaphore slots;
+
+    private final Counter accepted;
+    private final Counter coalesced;
+    private final Counter rejected;
+
+    public ReleaseEventQueue(@Value("${release.ingest.capacity:10000}") int capacity, MeterRegistry meterRegistry) {
+        this.slots = new Semaphore(capacity);
+        this.accepted = meterRegistry.counter("notifyme.release.events", "outcome", "accepted");
+        this.coalesced = meterRegistry.counter("notifyme.release.events", "outcome", "coalesced");
+        this.rejected = meterRegistry.counter("notifyme.release.events", "outcome", "rejected");
+        meterRegistry.gauge("notifyme.release.queue.depth", pendingByKey, Map::size);
+    }
+
+    public Outcome submit(ReleaseEventDTO event) {
+        String key = key(event.getMovieName(), event.getLocation(), event.getReleaseDate());
+        if (pendingByKey.containsKey(key)) {
+            coalesced.increment();
+            return Outcome.COALESCED;
+        }
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            return Outcome.REJECTED;
+        }
+
+        PendingRelease release = new PendingRelease(key, event.getMovieName().trim(), event.getLocation().trim(),
+            event.getReleaseDate(), System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(coalesceWindowMs));
+        if (pendingByKey.putIfAbsent(key, release) != null) {
+            slots.release();
+            coalesced.increment();
+            return Outcome.COALESCED;
+        }
+        due.add(release);
+        accepted.increment();
+        return Outcome.ACCEPTED;
+    }
+
+    /**
+     * Queues the replay of a release a newly indexed subscription missed. If the queue is full
+     * the pair is forgotten by the scraper instead, so its next scrape reports the date again.
+     */
+    @EventListener
+    public void onMissedRelease(MissedReleaseEvent event) {
+        if (submit(new ReleaseEventDTO(event.movieName(), event.location(), event.showDate())) == Outcome.REJECTED) {
+            fingerprintStore.invalidate(new ScrapeTarget(event.movieName(), event.location()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "Release-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Stops the workers and processes the releases still queued, without waiting out their
+     * coalescing windows, for up to {@code shutdown-drain-ms}. Whatever is left after that is
+     * lost: scraped releases are found again by the first scrape after restart, since the
+     * scrape fingerprints do not survive it, but events posted to {@code POST /v1/releases} are not.
+     */
+    @PreDestroy
+    public void stop() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownDrainMs);
+        // Not interrupted, so a release already being processed finishes its database work
+        running = false;
+        try {
+            for (Thread worker : workers) {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int processed = 0;
+        for (PendingRelease release : List.copyOf(pendingByKey.values())) {
+            if (System.nanoTime() > deadline || Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            due.remove(release);
+            if (process(release)) {
+                processed++;
+            }
+        }
+        if (processed > 0) {
+            log.info("Processed {} queued releases on shutdown", processed);
+        }
+        if (!pendingByKey.isEmpty()) {
+            log.warn("Shutting down with {} queued releases unprocessed; scraped ones will be found again "
+                + "after restart, ingested ones (POST /v1/releases) are lost", pendingByKey.size());
+        }
+    }
+
+    private void drain() {
+        while (running) {
+            PendingRelease release;
+            try {
+                release = due.poll(WORKER_POLL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (release != null) {
+                process(release);
+            }
+        }
+    }
+
+    /**
+     * Processes the release unless another thread already took it; returns whether it did.
+     */
+    private boolean process(PendingRelease release) {
+        // Removed before processing: a repeat arriving from here on is a new release, which
+        // only reaches subscriptions that were not notified by this run
+        if (!pendingByKey.remove(release.key(), release)) {
+            return false;
+        }
+        slots.release();
+        try {
+            notificationService.processMovieRelease(release.movieName(), release.location(), release.releaseDate());
+        } catch (RuntimeException e) {
+            // Make the next scrape of the pair report the date again instead of losing it
+            fingerprintStore.invalidate(new ScrapeTarget(release.movieName(), release.location()));
+            log.error("Failed to process release of {} in {} on {}",
+                release.movieName(), release.location(), release.releaseDate(), e);
+        }
+        return true;
+    }
+
+    private static String key(String movieName, String location, LocalDate releaseDate) {
+        return MatchKeys.pair(movieName, location) + '\u0000' + releaseDate;
+    }
+
+    private record PendingRelease(String key, String movieName, String location, LocalDate releaseDate,
+                                  long dueAtNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtNanos, ((PendingRelease) other).dueAtNanos);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.notifyme.service;
+
+/**
+ * Demand for one (movie, location) pair among ACTIVE subscriptions.
+ */
+public record SubscriptionDemand(String movieName, String location, int subscribers, double weight) {
+}
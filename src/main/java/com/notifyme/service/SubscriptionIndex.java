@@ -0,0 +1,436 @@
+package com.notifyme.service;
+
+import com.notifyme.dto.NotificationRecipient;
+import com.notifyme.entity.NotificationRequest;
+import com.notifyme.entity.NotificationStatus;
+import com.notifyme.repository.NotificationRepository;
+import com.notifyme.service.matching.MatchKeys;
+import com.notifyme.service.matching.TrigramIndex;
+import com.notifyme.service.scraper.ScrapeFingerprintStore;
+import com.notifyme.service.scraper.ScrapeFingerprintStore.Fingerprint;
+import com.notifyme.service.scraper.ScrapeTarget;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+
+import static com.notifyme.service.TransactionHooks.afterCommit;
+
+/**
+ * In-memory index of ACTIVE notification requests keyed by their stored canonical (movie, location)
+ * keys, the same ones the database deduplicates on, so a release only touches the subscriptions
+ * that actually match it. Only incoming titles are canonicalized here, with {@link MatchKeys}.
+ * Each location also has a trigram index over its movie keys, so a release title that differs
+ * slightly from the registered one is found without scanning every pair.
+ * Mutations made inside a transaction are applied after commit; changes made by other nodes
+ * are picked up by a periodic delta sync on {@code updated_at}.
+ */
+@Slf4j
+@Component
+public class SubscriptionIndex {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationPageCache notificationPageCache;
+
+    @Autowired
+    private ScrapeFingerprintStore fingerprintStore;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Re-read window behind the watermark: covers transactions that commit after later ones
+    // and clock skew between the nodes writing updated_at
+    @Value("${subscription-index.sync-overlap-ms:60000}")
+    private long syncOverlapMs;
+
+    // Dice similarity a differently spelled title needs to match; 1 disables fuzzy matching
+    @Value("${matching.fuzzy.min-similarity:0.85}")
+    private double fuzzyMinSimilarity;
+
+    private final Map<String, Bucket> bucketsByKey = new ConcurrentHashMap<>();
+
+    private final Map<String, TrigramIndex> moviesByLocation = new ConcurrentHashMap<>();
+
+    private volatile Watermark syncedUpTo;
+
+    // (id -> updated_at) of rows applied within the overlap window, so re-reading the window
+    // applies (and invalidates cached pages for) each change once; only touched by sync()
+    private final Map<Long, LocalDateTime> appliedInWindow = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // Taken before the scan: rows changed while it runs are applied again by the first sync
+        LocalDateTime newest = notificationRepository.findMaxUpdatedAt();
+        syncedUpTo = newest != null ? new Watermark(newest, Long.MAX_VALUE) : Watermark.EMPTY;
+        LocalDate today = LocalDate.now();
+        int loaded = 0;
+        try (Stream<NotificationRequest> active = notificationRepository.streamByStatus(NotificationStatus.ACTIVE)) {
+            for (NotificationRequest notification : (Iterable<NotificationRequest>) active::iterator) {
+                if (!notification.getEndDate().isBefore(today)) {
+                    put(notification);
+                    loaded++;
+                }
+                // Detach so the persistence context stays flat over the whole table
+                entityManager.detach(notification);
+            }
+        }
+        log.info("Subscription index rebuilt with {} active notifications", loaded);
+    }
+
+    /**
+     * Applies rows changed since the last pass: ACTIVE rows are (re)indexed, others removed.
+     * The read reaches back {@code sync-overlap-ms} behind the (updated_at, id) watermark to catch
+     * late commits; rows in that window that were already applied are skipped.
+     */
+    @Scheduled(fixedDelayString = "${subscription-index.sync-interval-ms:5000}",
+               initialDelayString = "${subscription-index.sync-interval-ms:5000}")
+    @Transactional(readOnly = true)
+    public void sync() {
+        Watermark watermark = syncedUpTo;
+        if (watermark == null) {
+            return;
+        }
+
+        LocalDateTime windowStart = watermark.updatedAt().minusNanos(syncOverlapMs * 1_000_000);
+        appliedInWindow.values().removeIf(updatedAt -> !updatedAt.isAfter(windowStart));
+
+        LocalDate today = LocalDate.now();
+        Watermark newest = watermark;
+        int applied = 0;
+        try (Stream<NotificationRequest> changed = notificationRepository.streamUpdatedSince(windowStart)) {
+            for (NotificationRequest notification : (Iterable<NotificationRequest>) changed::iterator) {
+                Watermark position = new Watermark(notification.getUpdatedAt(), notification.getId());
+                boolean seen = !position.isAfter(watermark)
+                    && notification.getUpdatedAt().equals(appliedInWindow.get(notification.getId()));
+                if (!seen) {
+                    apply(notification, today);
+                    appliedInWindow.put(notification.getId(), notification.getUpdatedAt());
+                    applied++;
+                }
+                if (position.isAfter(newest)) {
+                    newest = position;
+                }
+                entityManager.detach(notification);
+            }
+        }
+        syncedUpTo = newest;
+        log.debug("Subscription index sync applied {} changed rows", applied);
+    }
+
+    private void apply(NotificationRequest notification, LocalDate today) {
+        if (notification.isActive() && !notification.getEndDate().isBefore(today)) {
+            put(notification);
+        } else {
+            removeNow(notification.getId(), notification.getMovieKey(), notification.getLocationKey());
+        }
+        // Rows changed on other nodes also make this node's cached lookup pages stale
+        notificationPageCache.invalidate(notification.getEmail());
+    }
+
+    public void add(NotificationRequest notification) {
+        if (notification.isActive()) {
+            afterCommit(() -> put(notification));
+        }
+    }
+
+    public void remove(NotificationRequest notification) {
+        remove(notification.getId(), notification.getMovieKey(), notification.getLocationKey());
+    }
+
+    public void remove(Long id, String movieKey, String locationKey) {
+        afterCommit(() -> removeNow(id, movieKey, locationKey));
+    }
+
+    /**
+     * Removes every recipient's subscription after commit, with a single after-commit hook.
+     */
+    public void removeAll(List<NotificationRecipient> recipients) {
+        List<NotificationRecipient> copy = List.copyOf(recipients);
+        afterCommit(() -> copy.forEach(recipient ->
+            removeNow(recipient.getId(), recipient.getMovieKey(), recipient.getLocationKey())));
+    }
+
+    /**
+     * Returns the id of the email's subscription to the movie and location if its window already
+     * covers {@code startDate}..{@code endDate}, meaning a new registration would change nothing.
+     */
+    public Optional<Long> findCovering(String email, String movieName, String location,
+                                       LocalDate startDate, LocalDate endDate) {
+        Bucket bucket = bucketsByKey.get(MatchKeys.pair(movieName, location));
+        Long id = bucket != null ? bucket.idsByEmail.get(normalize(email)) : null;
+        Subscription subscription = id != null ? bucket.subscriptions.get(id) : null;
+        if (subscription == null || !subscription.contains(startDate) || !subscription.contains(endDate)) {
+            return Optional.empty();
+        }
+        return Optional.of(id);
+    }
+
+    /**
+     * Returns the ids of subscriptions for the movie and location whose date range contains
+     * {@code date}, pruning subscriptions that ended before today along the way. Subscriptions
+     * in the same location whose movie key is similar enough to the release's also match.
+     */
+    public List<Long> findMatchingIds(String movieName, String location, LocalDate date) {
+        String movieKey = MatchKeys.movie(movieName);
+        String locationKey = MatchKeys.location(location);
+        List<Bucket> buckets = findBuckets(movieKey, locationKey);
+        if (buckets.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Long> matches = new ArrayList<>();
+        for (Bucket bucket : buckets) {
+            boolean expired = false;
+            for (Subscription subscription : bucket.subscriptions.values()) {
+                if (subscription.endDate().isBefore(today)) {
+                    expired = true;
+                } else if (subscription.contains(date)) {
+                    matches.add(subscription.id());
+                }
+            }
+            if (expired) {
+                bucketsByKey.computeIfPresent(pairKey(bucket.movieKey, bucket.locationKey),
+                    (key, current) -> pruneExpired(current, today));
+            }
+        }
+        return matches;
+    }
+
+    private List<Bucket> findBuckets(String movieKey, String locationKey) {
+        Bucket exact = bucketsByKey.get(pairKey(movieKey, locationKey));
+        TrigramIndex movies = moviesByLocation.get(locationKey);
+        if (fuzzyMinSimilarity >= 1 || movies == null) {
+            return exact != null ? List.of(exact) : Collections.emptyList();
+        }
+
+        List<Bucket> buckets = new ArrayList<>();
+        for (String similarKey : movies.findSimilar(movieKey, fuzzyMinSimilarity)) {
+            Bucket bucket = bucketsByKey.get(pairKey(similarKey, locationKey));
+            if (bucket != null && (bucket == exact || MatchKeys.compatible(movieKey, similarKey))) {
+                buckets.add(bucket);
+            }
+        }
+        if (exact != null && !buckets.contains(exact)) {
+            buckets.add(exact);
+        }
+        if (buckets.size() > 1 || (buckets.size() == 1 && exact == null)) {
+            log.debug("Release '{}' in '{}' fuzzily matched {} subscription keys", movieKey, locationKey, buckets.size());
+        }
+        return buckets;
+    }
+
+    /**
+     * Ranks the (movie, location) pairs that still have subscribers by demand and returns the top
+     * {@code limit}. Each subscription contributes more the sooner its window closes, so both the
+     * number of waiting users and their urgency raise a pair's weight.
+     */
+    public List<SubscriptionDemand> rankDemand(LocalDate today, int limit) {
+        return rankDemand(today, limit, (movieName, location) -> true);
+    }
+
+    /**
+     * {@link #rankDemand(LocalDate, int)} over only the pairs accepted by {@code include}, given
+     * the (movie, location) as first registered; used to rank a node's own partition.
+     */
+    public List<SubscriptionDemand> rankDemand(LocalDate today, int limit, BiPredicate<String, String> include) {
+        PriorityQueue<SubscriptionDemand> top = new PriorityQueue<>(
+            Comparator.comparingDouble(SubscriptionDemand::weight));
+        for (Bucket bucket : bucketsByKey.values()) {
+            if (!include.test(bucket.movieName, bucket.location)) {
+                continue;
+            }
+            int subscribers = 0;
+            double weight = 0;
+            for (Subscription subscription : bucket.subscriptions.values()) {
+                long daysLeft = ChronoUnit.DAYS.between(today, subscription.endDate());
+                if (daysLeft >= 0) {
+                    subscribers++;
+                    weight += 1.0 / (1 + daysLeft);
+                }
+            }
+            if (subscribers > 0) {
+                top.offer(new SubscriptionDemand(bucket.movieName, bucket.location, subscribers, weight));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<SubscriptionDemand> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingDouble(SubscriptionDemand::weight).reversed());
+        return ranked;
+    }
+
+    public void removeExpired(LocalDate today) {
+        bucketsByKey.keySet().forEach(key -> bucketsByKey.computeIfPresent(key, (k, bucket) -> pruneExpired(bucket, today)));
+    }
+
+    /**
+     * Drops the bucket's subscriptions that ended before {@code today}; called inside
+     * {@code compute}, see {@link #retainIfNotEmpty}.
+     */
+    private Bucket pruneExpired(Bucket bucket, LocalDate today) {
+        bucket.subscriptions.values().stream()
+            .filter(subscription -> subscription.endDate().isBefore(today))
+            .map(Subscription::id)
+            .toList()
+            .forEach(bucket::remove);
+        return retainIfNotEmpty(bucket);
+    }
+
+    private void put(NotificationRequest notification) {
+        Subscription subscription = new Subscription(notification.getId(), normalize(notification.getEmail()),
+            notification.getStartDate(), notification.getEndDate());
+        String movieKey = notification.getMovieKey();
+        String locationKey = notification.getLocationKey();
+        Subscription[] previous = new Subscription[1];
+        Bucket indexed = bucketsByKey.compute(pairKey(movieKey, locationKey), (key, current) -> {
+            Bucket bucket = current;
+            if (bucket == null) {
+                bucket = new Bucket(notification.getMovieName().trim(), notification.getLocation().trim(),
+                    movieKey, locationKey);
+                moviesByLocation.computeIfAbsent(locationKey, k -> new TrigramIndex()).add(movieKey);
+            }
+            previous[0] = bucket.subscriptions.get(subscription.id());
+            bucket.put(subscription);
+            return bucket;
+        });
+        if (!subscription.equals(previous[0])) {
+            replayMissedRelease(indexed, subscription, previous[0]);
+        }
+    }
+
+    /**
+     * The scraper only reports dates that became bookable since its last look at the pair, so
+     * a date that was already bookable when this subscription started covering it would never
+     * reach it. Replays the earliest such date; only subscriptions still ACTIVE over it, which
+     * are the ones it missed, are notified by the replay.
+     */
+    private void replayMissedRelease(Bucket bucket, Subscription subscription, Subscription previous) {
+        Fingerprint seen = fingerprintStore.get(new ScrapeTarget(bucket.movieName, bucket.location));
+        if (seen == null) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        seen.showDates().stream()
+            .filter(date -> !date.isBefore(today) && subscription.contains(date)
+                && (previous == null || !previous.contains(date)))
+            .min(Comparator.naturalOrder())
+            .ifPresent(date -> eventPublisher.publishEvent(
+                new MissedReleaseEvent(bucket.movieName, bucket.location, date)));
+    }
+
+    private void removeNow(Long id, String movieKey, String locationKey) {
+        bucketsByKey.computeIfPresent(pairKey(movieKey, locationKey), (key, bucket) -> {
+            bucket.remove(id);
+            return retainIfNotEmpty(bucket);
+        });
+    }
+
+    /**
+     * Returns the bucket, or null after unlinking it from its location's trigram index when it
+     * has no subscriptions left; called inside {@code compute} so it races no concurrent put.
+     */
+    private Bucket retainIfNotEmpty(Bucket bucket) {
+        if (!bucket.subscriptions.isEmpty()) {
+            return bucket;
+        }
+        TrigramIndex movies = moviesByLocation.get(bucket.locationKey);
+        if (movies != null) {
+            movies.remove(bucket.movieKey);
+        }
+        return null;
+    }
+
+    private static String pairKey(String movieKey, String locationKey) {
+        return movieKey + '\u0000' + locationKey;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Subscriptions for one canonical (movie, location) pair, with the names as first registered
+     * for display. There is at most one ACTIVE subscription per email in a bucket.
+     */
+    private static final class Bucket {
+
+        private final String movieName;
+        private final String location;
+        private final String movieKey;
+        private final String locationKey;
+        private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByEmail = new ConcurrentHashMap<>();
+
+        private Bucket(String movieName, String location, String movieKey, String locationKey) {
+            this.movieName = movieName;
+            this.location = location;
+            this.movieKey = movieKey;
+            this.locationKey = locationKey;
+        }
+
+        private void put(Subscription subscription) {
+            subscriptions.put(subscription.id(), subscription);
+            idsByEmail.put(subscription.email(), subscription.id());
+        }
+
+        private void remove(Long id) {
+            Subscription removed = subscriptions.remove(id);
+            if (removed != null) {
+                idsByEmail.remove(removed.email(), id);
+            }
+        }
+    }
+
+    /**
+     * Position in the (updated_at, id) order the sync reads changes in.
+     */
+    private record Watermark(LocalDateTime updatedAt, long id) {
+
+        private static final Watermark EMPTY = new Watermark(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+        boolean isAfter(Watermark other) {
+            int byTime = updatedAt.compareTo(other.updatedAt);
+            return byTime > 0 || (byTime == 0 && id > other.id);
+        }
+    }
+
+    private record Subscription(Long id, String email, LocalDate startDate, LocalDate endDate) {
+
+        boolean contains(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.notifyme.service.cluster;
+
+import com.google.common.hash.Hashing;
+import com.notifyme.repository.ClusterNodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Tracks the live nodes through heartbeats in {@code cluster_node} and assigns each work key to
+ * exactly one of them by rendezvous hashing, so a node joining or leaving only moves the keys it
+ * gains or owned. Until the first heartbeat a node considers itself alone.
+ */
+@Slf4j
+@Component
+public class ClusterMembership {
+
+    @Autowired
+    private ClusterNodeRepository clusterNodeRepository;
+
+    @Value("${cluster.heartbeat-ttl-ms:30000}")
+    private long heartbeatTtlMs;
+
+    private final String nodeId;
+
+    private volatile List<String> liveNodeIds;
+
+    public ClusterMembership(@Value("${cluster.node-id:}") String nodeId) {
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.liveNodeIds = List.of(this.nodeId);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${cluster.heartbeat-interval-ms:10000}",
+               initialDelayString = "${cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        double ttlSeconds = heartbeatTtlMs / 1000.0;
+        clusterNodeRepository.heartbeat(nodeId);
+        clusterNodeRepository.deleteDeadNodes(ttlSeconds * 10);
+        List<String> live = clusterNodeRepository.findLiveNodeIds(ttlSeconds);
+        if (!live.contains(nodeId)) {
+            // Our own heartbeat just landed; only a very slow round trip gets here
+            live = List.of(nodeId);
+        }
+        if (!live.equals(liveNodeIds)) {
+            log.info("Cluster membership changed: node {} sees {} live nodes {}", nodeId, live.size(), live);
+        }
+        liveNodeIds = live;
+    }
+
+    /**
+     * Whether this node owns {@code key}: the live node with the highest hash of (node, key) does.
+     */
+    public boolean owns(String key) {
+        List<String> nodes = liveNodeIds;
+        if (nodes.size() == 1) {
+            return true;
+        }
+
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = Hashing.murmur3_128().newHasher()
+                .putString(node, StandardCharsets.UTF_8)
+                .putByte((byte) 0)
+                .putString(key, StandardCharsets.UTF_8)
+                .hash().asLong();
+            if (owner == null || score > best) {
+                owner = node;
+                best = score;
+            }
+        }
+        return nodeId.equals(owner);
+    }
+
+    public int liveNodeCount() {
+        return liveNodeIds.size();
+    }
+
+    @PreDestroy
+    public void leave() {
+        // Peers rebalance on their next heartbeat instead of waiting out the TTL
+        try {
+            clusterNodeRepository.deleteById(nodeId);
+        } catch (RuntimeException e) {
+            log.debug("Could not remove node {} on shutdown: {}", nodeId, e.getMessage());
+        }
+    }
+}
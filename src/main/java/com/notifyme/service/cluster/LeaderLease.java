@@ -0,0 +1,40 @@
+package com.notifyme.service.cluster;
+
+import com.notifyme.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Elects one node per singleton job through a time-bounded row in {@code scheduler_lease}.
+ * The lease is not released after the job so that nodes firing the same cron tick a little
+ * later still see it held; it simply expires.
+ */
+@Slf4j
+@Component
+public class LeaderLease {
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private ClusterMembership clusterMembership;
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        return !schedulerLeaseRepository.tryAcquire(name, clusterMembership.nodeId(), ttl.toMillis() / 1000.0).isEmpty();
+    }
+
+    /**
+     * Runs {@code job} if this node takes or already holds the named lease, returning whether it ran.
+     */
+    public boolean runIfLeader(String name, Duration ttl, Runnable job) {
+        if (!tryAcquire(name, ttl)) {
+            log.debug("Lease {} held by another node, skipping", name);
+            return false;
+        }
+        job.run();
+        return true;
+    }
+}
@@ -0,0 +1,85 @@
+package com.notifyme.service.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks on a delegate (typically one virtual thread per task) while a semaphore caps how
+ * many run at once. Virtual threads make blocking I/O cheap but not the downstream it talks to,
+ * so the cap stands in for the pool size; {@link Overflow} decides what a submitter sees when
+ * the cap is reached.
+ */
+public class BoundedExecutor implements Executor, AutoCloseable {
+
+    public enum Overflow {
+        /** Wait up to the overflow timeout for a permit, then reject. */
+        BLOCK,
+        /** Run the task on the submitting thread, which slows the producer down. */
+        CALLER_RUNS,
+        /** Reject immediately. */
+        ABORT
+    }
+
+    private final ExecutorService delegate;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final Overflow overflow;
+    private final Duration overflowTimeout;
+
+    public BoundedExecutor(ExecutorService delegate, int maxConcurrency, Overflow overflow, Duration overflowTimeout) {
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+        this.overflow = overflow;
+        this.overflowTimeout = overflowTimeout;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!acquire()) {
+            if (overflow == Overflow.CALLER_RUNS) {
+                task.run();
+                return;
+            }
+            throw new RejectedExecutionException("Concurrency limit of " + maxConcurrency + " reached");
+        }
+
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int inFlight() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    @Override
+    public void close() {
+        delegate.shutdownNow();
+    }
+
+    private boolean acquire() {
+        if (overflow != Overflow.BLOCK) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(overflowTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
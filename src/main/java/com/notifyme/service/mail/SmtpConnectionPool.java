@@ -0,0 +1,178 @@
+package com.notifyme.service.mail;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of authenticated SMTP connections. Batches are sent over one warm connection instead of
+ * paying connect, STARTTLS and AUTH per email; connections are recycled after a configurable
+ * number of messages since many providers cap messages per session.
+ */
+@Slf4j
+@Component
+public class SmtpConnectionPool {
+
+    @Autowired
+    private JavaMailSenderImpl mailSender;
+
+    @Value("${email.smtp.pool.max-messages-per-connection:100}")
+    private int maxMessagesPerConnection;
+
+    @Value("${email.smtp.pool.borrow-timeout-ms:30000}")
+    private long borrowTimeoutMs;
+
+    private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+
+    private final Semaphore connectionPermits;
+
+    private final Timer sendTimer;
+
+    public SmtpConnectionPool(@Value("${email.smtp.pool.size:2}") int poolSize, MeterRegistry meterRegistry) {
+        this.connectionPermits = new Semaphore(poolSize);
+        this.sendTimer = meterRegistry.timer("notifyme.smtp.send");
+        meterRegistry.gauge("notifyme.smtp.connections.idle", idle, BlockingQueue::size);
+    }
+
+    /**
+     * Sends the messages in order and returns the failures keyed by position in {@code messages}.
+     * A message that fails on a broken connection is retried once on a fresh one.
+     */
+    public Map<Integer, Exception> send(List<MimeMessage> messages) throws MessagingException {
+        Map<Integer, Exception> failures = new HashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        acquirePermit();
+        PooledConnection connection = null;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                try {
+                    connection = ready(connection);
+                    connection.send(message);
+                } catch (SendFailedException e) {
+                    failures.put(i, e);
+                } catch (MessagingException e) {
+                    log.warn("SMTP connection failed, reconnecting: {}", e.getMessage());
+                    discard(connection);
+                    connection = null;
+                    try {
+                        connection = ready(null);
+                        connection.send(message);
+                    } catch (MessagingException retryFailure) {
+                        failures.put(i, retryFailure);
+                        discard(connection);
+                        connection = null;
+                    }
+                }
+            }
+        } finally {
+            if (connection != null) {
+                idle.offer(connection);
+            }
+            connectionPermits.release();
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public void close() {
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            discard(connection);
+        }
+    }
+
+    private void acquirePermit() throws MessagingException {
+        try {
+            if (!connectionPermits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new MessagingException("Timed out waiting for an SMTP connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted waiting for an SMTP connection", e);
+        }
+    }
+
+    /**
+     * Returns a connection that can take another message: the current one while it is under the
+     * per-connection cap, otherwise a live idle one, otherwise a new one.
+     */
+    private PooledConnection ready(PooledConnection current) throws MessagingException {
+        if (current != null) {
+            if (current.sent < maxMessagesPerConnection) {
+                return current;
+            }
+            discard(current);
+        }
+
+        PooledConnection candidate;
+        while ((candidate = idle.poll()) != null) {
+            if (candidate.sent < maxMessagesPerConnection && candidate.transport.isConnected()) {
+                return candidate;
+            }
+            discard(candidate);
+        }
+        return connect();
+    }
+
+    private PooledConnection connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(mailSender.getProtocol());
+        transport.connect(mailSender.getHost(), mailSender.getPort(),
+            mailSender.getUsername(), mailSender.getPassword());
+        return new PooledConnection(transport);
+    }
+
+    private void discard(PooledConnection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    private final class PooledConnection {
+
+        private final Transport transport;
+
+        private int sent;
+
+        private PooledConnection(Transport transport) {
+            this.transport = transport;
+        }
+
+        private void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            long start = System.nanoTime();
+            transport.sendMessage(message, message.getAllRecipients());
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sent++;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.notifyme.service.matching;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+/**
+ * Canonical forms of free-text movie titles and locations, computed the same way at
+ * registration and at scrape time.
+ * <ul>
+ *   <li>accents are folded and case is dropped</li>
+ *   <li>bracketed qualifiers and screen formats are removed ("Interstellar (IMAX)" is "interstellar")</li>
+ *   <li>punctuation becomes whitespace, and whitespace is collapsed</li>
+ *   <li>locations are mapped through a table of known aliases ("Bangalore" is "bengaluru")</li>
+ * </ul>
+ * Changing these rules changes stored keys, so it must ship with a migration that re-keys rows.
+ */
+public final class MatchKeys {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern BRACKETED = Pattern.compile("\\([^)]*\\)|\\[[^]]*]|\\{[^}]*}");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NUMBER = Pattern.compile("\\p{N}+");
+    private static final Set<String> FORMAT_TOKENS = Set.of("imax", "2d", "3d", "4dx", "4d", "dolby", "atmos");
+
+    private static final Map<String, String> LOCATION_ALIASES = Map.ofEntries(
+        Map.entry("bangalore", "bengaluru"),
+        Map.entry("bombay", "mumbai"),
+        Map.entry("madras", "chennai"),
+        Map.entry("calcutta", "kolkata"),
+        Map.entry("gurgaon", "gurugram"),
+        Map.entry("trivandrum", "thiruvananthapuram"),
+        Map.entry("cochin", "kochi"),
+        Map.entry("poona", "pune"),
+        Map.entry("mysore", "mysuru"),
+        Map.entry("new delhi", "delhi"),
+        Map.entry("delhi ncr", "delhi"));
+
+    private MatchKeys() {
+    }
+
+    public static String movie(String movieName) {
+        String text = BRACKETED.matcher(fold(movieName)).replaceAll(" ");
+        StringBuilder key = new StringBuilder(text.length());
+        for (String token : NON_ALPHANUMERIC.split(text)) {
+            if (!token.isEmpty() && !FORMAT_TOKENS.contains(token)) {
+                if (!key.isEmpty()) {
+                    key.append(' ');
+                }
+                key.append(token);
+            }
+        }
+        // A title made only of qualifiers keeps them rather than collapsing to nothing
+        return key.isEmpty() ? words(movieName) : key.toString();
+    }
+
+    public static String location(String location) {
+        String key = words(location);
+        return LOCATION_ALIASES.getOrDefault(key, key);
+    }
+
+    /**
+     * Key of a (movie, location) pair.
+     */
+    public static String pair(String movieName, String location) {
+        return movie(movieName) + '\u0000' + location(location);
+    }
+
+    /**
+     * Whether two movie keys may be fuzzy matches of each other: their numbers (sequel, part or
+     * year) must be identical, since "avengers 2" and "avengers 3" are otherwise near-identical.
+     */
+    public static boolean compatible(String movieKey, String otherMovieKey) {
+        return numbers(movieKey).equals(numbers(otherMovieKey));
+    }
+
+    private static List<String> numbers(String movieKey) {
+        return NUMBER.matcher(movieKey).results().map(MatchResult::group).toList();
+    }
+
+    private static String words(String value) {
+        return NON_ALPHANUMERIC.matcher(fold(value)).replaceAll(" ").trim();
+    }
+
+    private static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+        return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
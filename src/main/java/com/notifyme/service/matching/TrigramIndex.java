@@ -0,0 +1,75 @@
+package com.notifyme.service.matching;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from character trigrams to the keys containing them. A fuzzy lookup only
+ * visits the posting lists of the query's own trigrams, so its cost depends on how many keys
+ * share trigrams with the query rather than on the total number of keys. Similarity is the
+ * Dice coefficient over padded trigram sets. Thread-safe.
+ */
+public class TrigramIndex {
+
+    private final Map<String, Set<String>> keysByTrigram = new HashMap<>();
+    private final Map<String, Integer> trigramCounts = new HashMap<>();
+
+    public synchronized void add(String key) {
+        if (trigramCounts.containsKey(key)) {
+            return;
+        }
+        Set<String> trigrams = trigrams(key);
+        trigramCounts.put(key, trigrams.size());
+        trigrams.forEach(trigram -> keysByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(key));
+    }
+
+    public synchronized void remove(String key) {
+        if (trigramCounts.remove(key) == null) {
+            return;
+        }
+        for (String trigram : trigrams(key)) {
+            Set<String> keys = keysByTrigram.get(trigram);
+            keys.remove(key);
+            if (keys.isEmpty()) {
+                keysByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the indexed keys whose similarity to {@code query} is at least {@code minSimilarity},
+     * the query itself included if indexed.
+     */
+    public List<String> findSimilar(String query, double minSimilarity) {
+        Set<String> queryTrigrams = trigrams(query);
+        Map<String, Integer> shared = new HashMap<>();
+        Map<String, Integer> sizes = new HashMap<>();
+        synchronized (this) {
+            for (String trigram : queryTrigrams) {
+                Set<String> keys = keysByTrigram.get(trigram);
+                if (keys != null) {
+                    keys.forEach(key -> shared.merge(key, 1, Integer::sum));
+                }
+            }
+            shared.keySet().forEach(key -> sizes.put(key, trigramCounts.get(key)));
+        }
+
+        return shared.entrySet().stream()
+            .filter(entry -> 2.0 * entry.getValue() / (queryTrigrams.size() + sizes.get(entry.getKey())) >= minSimilarity)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    static Set<String> trigrams(String key) {
+        String padded = "  " + key + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
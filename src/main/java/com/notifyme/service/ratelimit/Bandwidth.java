@@ -0,0 +1,30 @@
+package com.notifyme.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * One token bucket limit: holds at most {@code capacity} tokens and refills
+ * {@code refillTokens} evenly over each {@code refillPeriod}.
+ */
+public record Bandwidth(String name, long capacity, long refillTokens, Duration refillPeriod) {
+
+    public String key(String account) {
+        return account + ':' + name;
+    }
+
+    double refill(double tokens, Duration elapsed) {
+        if (elapsed.isNegative()) {
+            // Another node's clock ran ahead; never refill backwards
+            return tokens;
+        }
+        return Math.min(capacity, tokens + elapsed.toNanos() * tokensPerNano());
+    }
+
+    Duration timeToAccumulate(double tokens) {
+        return tokens <= 0 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil(tokens / tokensPerNano()));
+    }
+
+    private double tokensPerNano() {
+        return (double) refillTokens / refillPeriod.toNanos();
+    }
+}
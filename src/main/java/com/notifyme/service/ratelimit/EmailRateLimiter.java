@@ -0,0 +1,54 @@
+package com.notifyme.service.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Enforces the hourly and daily email limits per sender account as smooth token buckets:
+ * the hourly budget refills continuously with a small burst allowance instead of resetting
+ * on the hour.
+ */
+@Slf4j
+@Service
+public class EmailRateLimiter {
+
+    @Autowired
+    private RateLimitStore rateLimitStore;
+
+    @Value("${email.rate.limit.account:${spring.mail.username:default}}")
+    private String account;
+
+    private final List<Bandwidth> bandwidths;
+
+    private final Counter rejections;
+
+    public EmailRateLimiter(
+            @Value("${email.rate.limit.per.hour:50}") long hourlyLimit,
+            @Value("${email.rate.limit.per.day:500}") long dailyLimit,
+            @Value("${email.rate.limit.burst:10}") long burst,
+            MeterRegistry meterRegistry) {
+        this.rejections = Counter.builder("notifyme.email.rate_limited")
+            .description("Sends deferred because the rate limit had no tokens")
+            .register(meterRegistry);
+        this.bandwidths = List.of(
+            new Bandwidth("hour", Math.min(burst, hourlyLimit), hourlyLimit, Duration.ofHours(1)),
+            new Bandwidth("day", dailyLimit, dailyLimit, Duration.ofDays(1)));
+    }
+
+    public RateLimitDecision tryAcquire(int permits) {
+        RateLimitDecision decision = rateLimitStore.tryAcquire(account, bandwidths, permits);
+        if (decision.granted() < permits) {
+            rejections.increment(permits - decision.granted());
+            log.debug("Rate limit granted {} of {} sends, next permit in {}",
+                decision.granted(), permits, decision.retryAfter());
+        }
+        return decision;
+    }
+}
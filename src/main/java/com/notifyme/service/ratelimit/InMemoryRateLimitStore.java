@@ -0,0 +1,32 @@
+package com.notifyme.service.ratelimit;
+
+import com.notifyme.entity.RateLimitBucket;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-node store; buckets live in this JVM only.
+ */
+@Component
+@ConditionalOnProperty(name = "email.rate.limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Map<String, RateLimitBucket> buckets = new HashMap<>();
+
+    @Override
+    public synchronized RateLimitDecision tryAcquire(String account, List<Bandwidth> bandwidths, int permits) {
+        Instant now = Instant.now();
+        Map<Bandwidth, RateLimitBucket> selected = new LinkedHashMap<>();
+        for (Bandwidth bandwidth : bandwidths) {
+            String key = bandwidth.key(account);
+            selected.put(bandwidth, buckets.computeIfAbsent(key, k -> TokenBuckets.full(k, bandwidth, now)));
+        }
+        return TokenBuckets.acquire(selected, permits, now);
+    }
+}
@@ -0,0 +1,48 @@
+package com.notifyme.service.ratelimit;
+
+import com.notifyme.entity.RateLimitBucket;
+import com.notifyme.repository.RateLimitBucketRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cluster-wide store: buckets are rows locked for the duration of a short, separate transaction,
+ * so every node draws from the same hourly and daily budget. Refills are timed by the database
+ * clock, read once the rows are locked, so a node whose clock lags cannot refill an interval
+ * another node already has.
+ */
+@Component
+@ConditionalOnProperty(name = "email.rate.limit.store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    @Autowired
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    @Override
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public RateLimitDecision tryAcquire(String account, List<Bandwidth> bandwidths, int permits) {
+        for (Bandwidth bandwidth : bandwidths) {
+            rateLimitBucketRepository.insertIfAbsent(bandwidth.key(account), bandwidth.capacity());
+        }
+
+        Map<String, RateLimitBucket> locked = rateLimitBucketRepository
+            .findByBucketKeyInOrderByBucketKey(bandwidths.stream().map(b -> b.key(account)).toList())
+            .stream()
+            .collect(Collectors.toMap(RateLimitBucket::getBucketKey, Function.identity()));
+
+        Instant now = Instant.EPOCH.plus(rateLimitBucketRepository.currentTimeMicros(), ChronoUnit.MICROS);
+        Map<Bandwidth, RateLimitBucket> selected = new LinkedHashMap<>();
+        bandwidths.forEach(bandwidth -> selected.put(bandwidth, locked.get(bandwidth.key(account))));
+        return TokenBuckets.acquire(selected, permits, now);
+    }
+}
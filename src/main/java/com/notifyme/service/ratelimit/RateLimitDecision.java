@@ -0,0 +1,10 @@
+package com.notifyme.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a permit request: how many permits were granted and, when fewer than requested,
+ * how long until the next permit becomes available.
+ */
+public record RateLimitDecision(int granted, Duration retryAfter) {
+}
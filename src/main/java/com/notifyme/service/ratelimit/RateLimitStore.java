@@ -0,0 +1,12 @@
+package com.notifyme.service.ratelimit;
+
+import java.util.List;
+
+/**
+ * Backing store for token buckets. Grants are all-or-nothing across the bandwidths:
+ * a permit is granted only if every bucket can pay for it.
+ */
+public interface RateLimitStore {
+
+    RateLimitDecision tryAcquire(String account, List<Bandwidth> bandwidths, int permits);
+}
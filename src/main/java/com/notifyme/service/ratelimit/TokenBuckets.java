@@ -0,0 +1,47 @@
+package com.notifyme.service.ratelimit;
+
+import com.notifyme.entity.RateLimitBucket;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Token bucket arithmetic shared by the rate limit stores.
+ */
+final class TokenBuckets {
+
+    private TokenBuckets() {
+    }
+
+    static RateLimitBucket full(String key, Bandwidth bandwidth, Instant now) {
+        return new RateLimitBucket(key, bandwidth.capacity(), now);
+    }
+
+    /**
+     * Refills every bucket to {@code now} and takes as many permits as all of them can pay for.
+     */
+    static RateLimitDecision acquire(Map<Bandwidth, RateLimitBucket> buckets, int permits, Instant now) {
+        long granted = permits;
+        for (Map.Entry<Bandwidth, RateLimitBucket> entry : buckets.entrySet()) {
+            RateLimitBucket bucket = entry.getValue();
+            bucket.setTokens(entry.getKey().refill(bucket.getTokens(), Duration.between(bucket.getRefreshedAt(), now)));
+            if (now.isAfter(bucket.getRefreshedAt())) {
+                // Never moved backwards, or the interval in between would be refilled twice
+                bucket.setRefreshedAt(now);
+            }
+            granted = Math.min(granted, (long) Math.floor(bucket.getTokens()));
+        }
+
+        Duration retryAfter = Duration.ZERO;
+        for (Map.Entry<Bandwidth, RateLimitBucket> entry : buckets.entrySet()) {
+            RateLimitBucket bucket = entry.getValue();
+            bucket.setTokens(bucket.getTokens() - granted);
+            if (granted < permits) {
+                Duration wait = entry.getKey().timeToAccumulate(1 - bucket.getTokens());
+                retryAfter = wait.compareTo(retryAfter) > 0 ? wait : retryAfter;
+            }
+        }
+        return new RateLimitDecision((int) granted, retryAfter);
+    }
+}
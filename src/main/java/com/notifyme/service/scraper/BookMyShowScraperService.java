@@ -0,0 +1,21 @@
+package com.notifyme.service.scraper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface BookMyShowScraperService {
+
+    /**
+     * Host the scraper fetches from, used to apply per-host politeness limits.
+     */
+    String host();
+
+    /**
+     * Fetches the target's listing page, conditionally when {@code validators} carry an ETag or
+     * Last-Modified value, returning {@link FetchedPage#notModified} if the page is unchanged.
+     */
+    FetchedPage fetch(ScrapeTarget target, PageValidators validators) throws IOException;
+
+    List<LocalDate> parseShowDates(FetchedPage page);
+}
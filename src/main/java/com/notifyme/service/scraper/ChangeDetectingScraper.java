@@ -0,0 +1,84 @@
+package com.notifyme.service.scraper;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.notifyme.service.scraper.ScrapeFingerprintStore.Fingerprint;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Scrapes a target only as far as needed to tell whether it changed: a 304 from a conditional
+ * fetch stops before parsing, and an identical hash of the parsed show dates stops before any
+ * release processing. Each scrape is timed as {@code notifyme.scrape}, tagged by host and by
+ * how far it got.
+ */
+@Slf4j
+@Component
+public class ChangeDetectingScraper {
+
+    @Autowired
+    private BookMyShowScraperService scraperService;
+
+    @Autowired
+    private ScrapeFingerprintStore fingerprintStore;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public String host() {
+        return scraperService.host();
+    }
+
+    public Optional<ScrapeResult> scrape(ScrapeTarget target) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            Optional<ScrapeResult> result = scrapeChanges(target);
+            outcome = result.isPresent() ? "changed" : "unchanged";
+            return result;
+        } finally {
+            sample.stop(meterRegistry.timer("notifyme.scrape", "host", host(), "outcome", outcome));
+        }
+    }
+
+    private Optional<ScrapeResult> scrapeChanges(ScrapeTarget target) throws IOException {
+        Fingerprint previous = fingerprintStore.get(target);
+        PageValidators validators = previous != null ? previous.validators() : PageValidators.NONE;
+
+        FetchedPage page = scraperService.fetch(target, validators);
+        if (page.notModified()) {
+            log.debug("{} in {} not modified", target.movieName(), target.location());
+            return Optional.empty();
+        }
+
+        Set<LocalDate> showDates = new TreeSet<>(scraperService.parseShowDates(page));
+        long contentHash = hash(showDates);
+        Fingerprint fingerprint = new Fingerprint(page.validators(), contentHash, showDates);
+        if (previous != null && previous.contentHash() == contentHash) {
+            // Nothing to hand on, so the refreshed validators can be stored right away
+            fingerprintStore.put(target, fingerprint);
+            return Optional.empty();
+        }
+
+        List<LocalDate> newlyBookable = showDates.stream()
+            .filter(date -> previous == null || !previous.showDates().contains(date))
+            .toList();
+        return Optional.of(new ScrapeResult(target, List.copyOf(showDates), newlyBookable, fingerprint));
+    }
+
+    private static long hash(Set<LocalDate> showDates) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        showDates.forEach(date -> hasher.putLong(date.toEpochDay()));
+        return hasher.hash().asLong();
+    }
+}
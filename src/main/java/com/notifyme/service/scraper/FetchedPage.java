@@ -0,0 +1,15 @@
+package com.notifyme.service.scraper;
+
+/**
+ * A fetched listing page, or a marker that it has not changed since the validators sent.
+ */
+public record FetchedPage(boolean notModified, String body, PageValidators validators) {
+
+    public static FetchedPage notModified(PageValidators validators) {
+        return new FetchedPage(true, null, validators);
+    }
+
+    public static FetchedPage of(String body, PageValidators validators) {
+        return new FetchedPage(false, body, validators);
+    }
+}
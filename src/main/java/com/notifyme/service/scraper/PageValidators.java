@@ -0,0 +1,9 @@
+package com.notifyme.service.scraper;
+
+/**
+ * HTTP cache validators from a previous fetch, sent back so the server can answer 304 Not Modified.
+ */
+public record PageValidators(String etag, String lastModified) {
+
+    public static final PageValidators NONE = new PageValidators(null, null);
+}
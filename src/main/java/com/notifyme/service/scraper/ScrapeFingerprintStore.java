@@ -0,0 +1,56 @@
+package com.notifyme.service.scraper;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Last seen state of each scrape target. Targets that drop out of the plan age out, and a
+ * target seen for the first time (or invalidated) is treated as changed, so all its show dates
+ * are reported again.
+ */
+@Component
+public class ScrapeFingerprintStore {
+
+    private final Cache<String, Fingerprint> fingerprints;
+
+    public ScrapeFingerprintStore(
+            @Value("${scraping.fingerprint.max-entries:100000}") long maxEntries,
+            @Value("${scraping.fingerprint.expire-after-access-hours:24}") long expireAfterAccessHours) {
+        this.fingerprints = CacheBuilder.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterAccess(Duration.ofHours(expireAfterAccessHours))
+            .build();
+    }
+
+    public Fingerprint get(ScrapeTarget target) {
+        return fingerprints.getIfPresent(target.key());
+    }
+
+    public void put(ScrapeTarget target, Fingerprint fingerprint) {
+        fingerprints.put(target.key(), fingerprint);
+    }
+
+    /**
+     * Records a changed result as seen, once its releases have been handed on.
+     */
+    public void commit(ScrapeResult result) {
+        put(result.target(), result.fingerprint());
+    }
+
+    /**
+     * Forgets the target so its next scrape reports every show date again, e.g. when a release
+     * of it could not be processed.
+     */
+    public void invalidate(ScrapeTarget target) {
+        fingerprints.invalidate(target.key());
+    }
+
+    public record Fingerprint(PageValidators validators, long contentHash, Set<LocalDate> showDates) {
+    }
+}
@@ -0,0 +1,16 @@
+package com.notifyme.service.scraper;
+
+import com.notifyme.service.scraper.ScrapeFingerprintStore.Fingerprint;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A target whose parsed listing changed, with the show dates that were not bookable before.
+ * The new fingerprint is only stored by {@link ScrapeFingerprintStore#commit} once the newly
+ * bookable dates have been handed to the release pipeline, so a result that is dropped on the
+ * way is detected again by the next scrape.
+ */
+public record ScrapeResult(ScrapeTarget target, List<LocalDate> showDates, List<LocalDate> newlyBookableDates,
+                           Fingerprint fingerprint) {
+}
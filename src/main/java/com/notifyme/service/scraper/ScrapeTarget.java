@@ -0,0 +1,14 @@
+package com.notifyme.service.scraper;
+
+import com.notifyme.service.matching.MatchKeys;
+
+public record ScrapeTarget(String movieName, String location) {
+
+    /**
+     * Canonical (movie, location) identity, used to coalesce duplicate targets and to
+     * partition targets across nodes.
+     */
+    public String key() {
+        return MatchKeys.pair(movieName, location);
+    }
+}
@@ -0,0 +1,168 @@
+package com.notifyme.service.scraper;
+
+import com.notifyme.service.concurrent.BoundedExecutor;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scrapes targets in parallel while keeping at most {@code max-concurrency-per-host} requests
+ * in flight against the scraper's host. After each request its slot is handed to the next
+ * target only once the politeness delay has elapsed, via a timer rather than a sleeping thread.
+ * Requests run on the {@code scrapingExecutor}, platform or virtual threads per {@code async.mode}.
+ */
+@Slf4j
+@Component
+public class ScrapingEngine {
+
+    @Autowired
+    private ChangeDetectingScraper scraper;
+
+    @Value("${scraping.max-concurrency-per-host:2}")
+    private int maxConcurrencyPerHost;
+
+    @Value("${scraping.politeness-delay-ms:5000}")
+    private long politenessDelayMs;
+
+    @Autowired
+    @Qualifier("scrapingExecutor")
+    private BoundedExecutor workers;
+
+    private final ScheduledExecutorService delays = Executors.newSingleThreadScheduledExecutor(
+        runnable -> new Thread(runnable, "Scraper-delay"));
+
+    /**
+     * Scrapes each distinct target once and returns the changed listings found before {@code deadline};
+     * targets not started by then are skipped. Scrapes still running at the deadline are left to
+     * finish but their results are discarded; their fingerprints were never committed, so the
+     * next run detects the same changes again.
+     */
+    public List<ScrapeResult> scrape(Collection<ScrapeTarget> targets, Instant deadline) {
+        Map<String, ScrapeTarget> distinct = new LinkedHashMap<>();
+        targets.forEach(target -> distinct.putIfAbsent(target.key(), target));
+
+        Run run = new Run(distinct.values(), deadline);
+        run.start();
+        run.await();
+
+        List<ScrapeResult> results = run.close();
+        log.info("Scraped {} targets ({} requested) against {}, {} changed, {} failed",
+            distinct.size() - run.pending.size(), targets.size(), scraper.host(), results.size(), run.failures.get());
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        delays.shutdownNow();
+    }
+
+    private final class Run {
+
+        private final Queue<ScrapeTarget> pending;
+        private final List<ScrapeResult> results = new ArrayList<>();
+        private final CountDownLatch finished;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger discarded = new AtomicInteger();
+        private final Instant deadline;
+
+        private Run(Collection<ScrapeTarget> targets, Instant deadline) {
+            this.pending = new ConcurrentLinkedQueue<>(targets);
+            this.finished = new CountDownLatch(targets.size());
+            this.deadline = deadline;
+        }
+
+        private void start() {
+            for (int slot = 0; slot < maxConcurrencyPerHost; slot++) {
+                launchNext();
+            }
+        }
+
+        private void await() {
+            try {
+                long remainingMs = Duration.between(Instant.now(), deadline).toMillis();
+                if (!finished.await(Math.max(0, remainingMs), TimeUnit.MILLISECONDS)) {
+                    log.warn("Scraping deadline reached with {} targets not started", pending.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Stops launching targets and takes the results collected so far; results of scrapes
+         * that finish afterwards are discarded rather than added to a list nobody reads.
+         */
+        private List<ScrapeResult> close() {
+            synchronized (results) {
+                closed.set(true);
+                return new ArrayList<>(results);
+            }
+        }
+
+        private void launchNext() {
+            if (closed.get() || Instant.now().isAfter(deadline)) {
+                return;
+            }
+            ScrapeTarget target = pending.poll();
+            if (target == null) {
+                return;
+            }
+            try {
+                workers.execute(() -> scrapeAndContinue(target));
+            } catch (RejectedExecutionException e) {
+                // Executor saturated by other work: keep the target and retry this slot later
+                log.debug("Scraper executor saturated, retrying slot: {}", e.getMessage());
+                pending.add(target);
+                delays.schedule(this::launchNext, politenessDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void scrapeAndContinue(ScrapeTarget target) {
+            try {
+                scraper.scrape(target).ifPresent(this::collect);
+            } catch (Exception e) {
+                // An unreachable host fails every target; log the first and count the rest
+                if (failures.getAndIncrement() == 0) {
+                    log.warn("Error scraping {} in {}: {}", target.movieName(), target.location(), e.getMessage());
+                } else {
+                    log.debug("Error scraping {} in {}: {}", target.movieName(), target.location(), e.getMessage());
+                }
+            } finally {
+                finished.countDown();
+                delays.schedule(this::launchNext, politenessDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void collect(ScrapeResult result) {
+            synchronized (results) {
+                if (!closed.get()) {
+                    results.add(result);
+                    return;
+                }
+            }
+            log.debug("Discarding late result for {} in {}, {} so far",
+                result.target().movieName(), result.target().location(), discarded.incrementAndGet());
+        }
+    }
+}
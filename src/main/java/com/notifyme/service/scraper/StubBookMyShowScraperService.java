@@ -0,0 +1,45 @@
+package com.notifyme.service.scraper;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Local scraper that serves show dates published through {@link #publish}, for running
+ * without network access and for scripting releases in tests. Pages carry an ETag so
+ * conditional fetches behave like a real server.
+ */
+public class StubBookMyShowScraperService implements BookMyShowScraperService {
+
+    private final Map<String, String> pagesByTarget = new ConcurrentHashMap<>();
+
+    public void publish(ScrapeTarget target, List<LocalDate> showDates) {
+        pagesByTarget.put(target.key(), showDates.stream().map(LocalDate::toString).collect(Collectors.joining(",")));
+    }
+
+    @Override
+    public String host() {
+        return "stub.local";
+    }
+
+    @Override
+    public FetchedPage fetch(ScrapeTarget target, PageValidators validators) {
+        String body = pagesByTarget.getOrDefault(target.key(), "");
+        String etag = '"' + Integer.toHexString(body.hashCode()) + '"';
+        if (etag.equals(validators.etag())) {
+            return FetchedPage.notModified(validators);
+        }
+        return FetchedPage.of(body, new PageValidators(etag, null));
+    }
+
+    @Override
+    public List<LocalDate> parseShowDates(FetchedPage page) {
+        if (page.body().isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(page.body().split(",")).map(LocalDate::parse).toList();
+    }
+}
@@ -0,0 +1,67 @@
+package com.notifyme.service.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@code ${name}} template parsed once into alternating literal and parameter segments.
+ * Parameters are bound to positions at compile time, so rendering is a single pass with no
+ * lookups or searches. Placeholders that are not parameters are kept verbatim.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "${";
+    private static final char CLOSE = '}';
+
+    // literals.length == parameterIndexes.length + 1
+    private final String[] literals;
+    private final int[] parameterIndexes;
+
+    private CompiledTemplate(String[] literals, int[] parameterIndexes) {
+        this.literals = literals;
+        this.parameterIndexes = parameterIndexes;
+    }
+
+    public static CompiledTemplate compile(String source, List<String> parameterNames) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+
+            int index = parameterNames.indexOf(source.substring(open + OPEN.length(), close));
+            if (index < 0) {
+                literal.append(source, position, close + 1);
+            } else {
+                literal.append(source, position, open);
+                literals.add(literal.toString());
+                indexes.add(index);
+                literal.setLength(0);
+            }
+            position = close + 1;
+        }
+        literals.add(literal.toString());
+
+        return new CompiledTemplate(
+            literals.toArray(String[]::new),
+            indexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Renders into {@code buffer}, which is cleared first so callers can reuse one builder
+     * across a batch. Values are given in the order of the compile-time parameter names.
+     */
+    public String render(StringBuilder buffer, Object... values) {
+        buffer.setLength(0);
+        for (int i = 0; i < parameterIndexes.length; i++) {
+            buffer.append(literals[i]).append(values[parameterIndexes[i]]);
+        }
+        return buffer.append(literals[parameterIndexes.length]).toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.notifyme.service.template;
+
+import com.notifyme.entity.EmailTemplate;
+import com.notifyme.repository.EmailTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads email templates through {@link EmailTemplateRepository} and caches them compiled.
+ * A cached template is revalidated against its {@code updatedAt} at most once per refresh
+ * interval and recompiled only when the row has changed.
+ */
+@Slf4j
+@Service
+public class EmailTemplateService {
+
+    @Autowired
+    private EmailTemplateRepository emailTemplateRepository;
+
+    @Value("${email.template.refresh-interval-ms:60000}")
+    private long refreshIntervalMs;
+
+    private final Map<String, CachedTemplate> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the named template compiled against {@code parameterNames}; a template name must
+     * always be requested with the same parameter names.
+     */
+    public CompiledEmailTemplate getTemplate(String templateName, List<String> parameterNames) {
+        long now = System.currentTimeMillis();
+        CachedTemplate cached = cache.get(templateName);
+        if (cached != null && now - cached.checkedAt() < refreshIntervalMs) {
+            return cached.template();
+        }
+
+        // Queried outside any map lock, so a slow load never blocks templates sharing its bin;
+        // callers racing on the same stale entry may each query, once per refresh interval
+        CachedTemplate refreshed = refresh(templateName, cached, parameterNames, now);
+        boolean published = cached == null
+            ? cache.putIfAbsent(templateName, refreshed) == null
+            : cache.replace(templateName, cached, refreshed);
+        if (published) {
+            return refreshed.template();
+        }
+        CachedTemplate winner = cache.get(templateName);
+        return winner != null ? winner.template() : refreshed.template();
+    }
+
+    private CachedTemplate refresh(String templateName, CachedTemplate current, List<String> parameterNames, long now) {
+        LocalDateTime updatedAt = emailTemplateRepository.findUpdatedAtByTemplateName(templateName)
+            .orElseThrow(() -> new IllegalStateException("Email template not found: " + templateName));
+        if (current != null && current.updatedAt().equals(updatedAt)) {
+            return new CachedTemplate(current.template(), updatedAt, now);
+        }
+
+        EmailTemplate entity = emailTemplateRepository.findByTemplateName(templateName)
+            .orElseThrow(() -> new IllegalStateException("Email template not found: " + templateName));
+        log.info("Compiled email template {} (updated {})", templateName, entity.getUpdatedAt());
+        return new CachedTemplate(
+            new CompiledEmailTemplate(
+                CompiledTemplate.compile(entity.getSubjectTemplate(), parameterNames),
+                CompiledTemplate.compile(entity.getBodyTemplate(), parameterNames)),
+            entity.getUpdatedAt(),
+            now);
+    }
+
+    public record CompiledEmailTemplate(CompiledTemplate subject, CompiledTemplate body) {
+    }
+
+    private record CachedTemplate(CompiledEmailTemplate template, LocalDateTime updatedAt, long checkedAt) {
+    }
+}
@@ -0,0 +1,106 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Fills {@code movie_key} and {@code location_key} for existing rows. The keys are computed by
+ * {@link Keys}, a frozen copy of the {@code MatchKeys} rules as they stood when this migration
+ * shipped, so later rule changes cannot change what it writes; those re-key rows in their own
+ * migration. Walks the table in id order, one batch of updates per page.
+ */
+public class V9__Backfill_notification_match_keys extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (PreparedStatement select = connection.prepareStatement(
+                 "SELECT id, movie_name, location FROM notification_request WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE);
+             PreparedStatement update = connection.prepareStatement(
+                 "UPDATE notification_request SET movie_key = ?, location_key = ? WHERE id = ?")) {
+            long lastId = 0;
+            int rows;
+            do {
+                rows = 0;
+                select.setLong(1, lastId);
+                try (ResultSet page = select.executeQuery()) {
+                    while (page.next()) {
+                        lastId = page.getLong("id");
+                        update.setString(1, Keys.movie(page.getString("movie_name")));
+                        update.setString(2, Keys.location(page.getString("location")));
+                        update.setLong(3, lastId);
+                        update.addBatch();
+                        rows++;
+                    }
+                }
+                if (rows > 0) {
+                    update.executeBatch();
+                }
+            } while (rows == BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Canonicalization rules of {@code MatchKeys} as of this migration. Do not edit.
+     */
+    private static final class Keys {
+
+        private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+        private static final Pattern BRACKETED = Pattern.compile("\\([^)]*\\)|\\[[^]]*]|\\{[^}]*}");
+        private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+        private static final Set<String> FORMAT_TOKENS = Set.of("imax", "2d", "3d", "4dx", "4d", "dolby", "atmos");
+
+        private static final Map<String, String> LOCATION_ALIASES = Map.ofEntries(
+            Map.entry("bangalore", "bengaluru"),
+            Map.entry("bombay", "mumbai"),
+            Map.entry("madras", "chennai"),
+            Map.entry("calcutta", "kolkata"),
+            Map.entry("gurgaon", "gurugram"),
+            Map.entry("trivandrum", "thiruvananthapuram"),
+            Map.entry("cochin", "kochi"),
+            Map.entry("poona", "pune"),
+            Map.entry("mysore", "mysuru"),
+            Map.entry("new delhi", "delhi"),
+            Map.entry("delhi ncr", "delhi"));
+
+        static String movie(String movieName) {
+            String text = BRACKETED.matcher(fold(movieName)).replaceAll(" ");
+            StringBuilder key = new StringBuilder(text.length());
+            for (String token : NON_ALPHANUMERIC.split(text)) {
+                if (!token.isEmpty() && !FORMAT_TOKENS.contains(token)) {
+                    if (!key.isEmpty()) {
+                        key.append(' ');
+                    }
+                    key.append(token);
+                }
+            }
+            return key.isEmpty() ? words(movieName) : key.toString();
+        }
+
+        static String location(String location) {
+            String key = words(location);
+            return LOCATION_ALIASES.getOrDefault(key, key);
+        }
+
+        private static String words(String value) {
+            return NON_ALPHANUMERIC.matcher(fold(value)).replaceAll(" ").trim();
+        }
+
+        private static String fold(String value) {
+            String decomposed = Normalizer.normalize(value, Normalizer.Form.NFKD);
+            return DIACRITICS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+        }
+    }
+}
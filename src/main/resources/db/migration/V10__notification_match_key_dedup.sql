@@ -0,0 +1,29 @@
+-- Rows that only differed by accents, qualifiers or location aliases now share a key:
+-- fold duplicate ACTIVE subscriptions into the oldest row, widened to cover them all
+UPDATE notification_request n
+SET start_date = d.merged_start, end_date = d.merged_end, updated_at = now()
+FROM (SELECT min(id) AS keeper_id, min(start_date) AS merged_start, max(end_date) AS merged_end
+      FROM notification_request
+      WHERE status = 'ACTIVE'
+      GROUP BY lower(email), movie_key, location_key
+      HAVING count(*) > 1) d
+WHERE n.id = d.keeper_id;
+
+UPDATE notification_request n
+SET status = 'CANCELLED', updated_at = now()
+WHERE n.status = 'ACTIVE'
+  AND EXISTS (SELECT 1 FROM notification_request k
+              WHERE k.status = 'ACTIVE'
+                AND lower(k.email) = lower(n.email)
+                AND k.movie_key = n.movie_key
+                AND k.location_key = n.location_key
+                AND k.id < n.id);
+
+ALTER TABLE notification_request ALTER COLUMN movie_key SET NOT NULL;
+ALTER TABLE notification_request ALTER COLUMN location_key SET NOT NULL;
+
+-- Deduplication key: one ACTIVE subscription per (email, canonical movie, canonical location)
+DROP INDEX IF EXISTS uq_notification_active_subscription;
+CREATE UNIQUE INDEX uq_notification_active_subscription
+    ON notification_request (lower(email), movie_key, location_key)
+    WHERE status = 'ACTIVE';
@@ -0,0 +1,48 @@
+-- Schema as previously created by ddl-auto=update; IF NOT EXISTS lets existing databases adopt it
+CREATE TABLE IF NOT EXISTS notification_request (
+    id BIGSERIAL PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    movie_name VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS email_template (
+    id BIGSERIAL PRIMARY KEY,
+    template_name VARCHAR(100) NOT NULL UNIQUE,
+    subject_template TEXT NOT NULL,
+    body_template TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject TEXT NOT NULL,
+    body TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    attempts INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS email_rate_limit_bucket (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refreshed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO email_template (template_name, subject_template, body_template, created_at, updated_at)
+VALUES ('MOVIE_RELEASE',
+        'Movie Alert: ${movieName} is now available!',
+        E'Dear Movie Fan,\n\nGreat news! The movie "${movieName}" is now available for booking in ${location} on ${releaseDate}.\n\nDon''t miss out - book your tickets now!\n\nBest regards,\nNotifyMe Team',
+        CURRENT_TIMESTAMP,
+        CURRENT_TIMESTAMP)
+ON CONFLICT (template_name) DO NOTHING;
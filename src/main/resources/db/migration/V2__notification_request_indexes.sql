@@ -0,0 +1,13 @@
+-- Expiry cleanup walks ACTIVE rows past their end date in id order
+CREATE INDEX IF NOT EXISTS idx_notification_active_end_date
+    ON notification_request (end_date, id)
+    WHERE status = 'ACTIVE';
+
+-- Newest-first keyset pages of a user's notifications
+CREATE INDEX IF NOT EXISTS idx_notification_email_created
+    ON notification_request (email, created_at DESC, id DESC);
+
+-- Outbox dispatch claims due PENDING emails in id order
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending
+    ON email_outbox (id)
+    WHERE status = 'PENDING';
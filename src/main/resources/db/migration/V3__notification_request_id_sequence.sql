@@ -0,0 +1,3 @@
+-- notification_request rows are only inserted by native upserts, which take one nextval per row;
+-- the sequence steps by 1 to match the entity's allocationSize = 1
+ALTER SEQUENCE notification_request_id_seq INCREMENT BY 1;
@@ -0,0 +1,24 @@
+-- Fold existing duplicate ACTIVE subscriptions into the oldest row, widened to cover them all
+UPDATE notification_request n
+SET start_date = d.merged_start, end_date = d.merged_end, updated_at = now()
+FROM (SELECT min(id) AS keeper_id, min(start_date) AS merged_start, max(end_date) AS merged_end
+      FROM notification_request
+      WHERE status = 'ACTIVE'
+      GROUP BY lower(email), lower(movie_name), lower(location)
+      HAVING count(*) > 1) d
+WHERE n.id = d.keeper_id;
+
+UPDATE notification_request n
+SET status = 'CANCELLED', updated_at = now()
+WHERE n.status = 'ACTIVE'
+  AND EXISTS (SELECT 1 FROM notification_request k
+              WHERE k.status = 'ACTIVE'
+                AND lower(k.email) = lower(n.email)
+                AND lower(k.movie_name) = lower(n.movie_name)
+                AND lower(k.location) = lower(n.location)
+                AND k.id < n.id);
+
+-- Deduplication key: one ACTIVE subscription per normalized (email, movie, location)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_notification_active_subscription
+    ON notification_request (lower(email), lower(movie_name), lower(location))
+    WHERE status = 'ACTIVE';
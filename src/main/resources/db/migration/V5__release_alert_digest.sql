@@ -0,0 +1,26 @@
+-- Matched releases waiting to be rolled into one digest email per recipient
+CREATE SEQUENCE IF NOT EXISTS release_alert_id_seq;
+
+CREATE TABLE IF NOT EXISTS release_alert (
+    id BIGINT PRIMARY KEY DEFAULT nextval('release_alert_id_seq'),
+    notification_id BIGINT NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    movie_name VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    release_date DATE NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER SEQUENCE release_alert_id_seq OWNED BY release_alert.id;
+
+-- Digest flush groups pending alerts by recipient and looks at the oldest one
+CREATE INDEX IF NOT EXISTS idx_release_alert_recipient
+    ON release_alert (lower(recipient), created_at);
+
+INSERT INTO email_template (template_name, subject_template, body_template, created_at, updated_at)
+VALUES ('MOVIE_RELEASE_DIGEST',
+        'Movie Alert: ${count} movies are now available!',
+        E'Dear Movie Fan,\n\nGreat news! These movies are now available for booking:\n\n${releases}\nDon''t miss out - book your tickets now!\n\nBest regards,\nNotifyMe Team',
+        CURRENT_TIMESTAMP,
+        CURRENT_TIMESTAMP)
+ON CONFLICT (template_name) DO NOTHING;
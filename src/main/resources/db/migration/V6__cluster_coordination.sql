@@ -0,0 +1,16 @@
+-- Live application nodes; scrape targets are partitioned over nodes with a recent heartbeat
+CREATE TABLE IF NOT EXISTS cluster_node (
+    node_id VARCHAR(100) PRIMARY KEY,
+    heartbeat_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Time-bounded leases electing one node per singleton job
+CREATE TABLE IF NOT EXISTS scheduler_lease (
+    name VARCHAR(100) PRIMARY KEY,
+    owner VARCHAR(100) NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+-- Subscription index delta sync reads rows changed since its last pass
+CREATE INDEX IF NOT EXISTS idx_notification_updated_at
+    ON notification_request (updated_at);
@@ -0,0 +1,61 @@
+-- Terminal (NOTIFIED, EXPIRED, CANCELLED) subscriptions are moved here by the archiver, keeping
+-- notification_request down to the rows the schedulers still read. Monthly range partitions on
+-- end_date are created on demand and dropped whole once past retention.
+CREATE TABLE IF NOT EXISTS notification_request_archive (
+    id BIGINT NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    movie_name VARCHAR(255) NOT NULL,
+    location VARCHAR(255) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id, end_date)
+) PARTITION BY RANGE (end_date);
+
+-- Safety net only: the archiver creates a month's partition before moving rows into it
+CREATE TABLE IF NOT EXISTS notification_request_archive_default
+    PARTITION OF notification_request_archive DEFAULT;
+
+-- Newest-first keyset pages of a user's archived notifications
+CREATE INDEX IF NOT EXISTS idx_notification_archive_email_created
+    ON notification_request_archive (email, created_at DESC, id DESC);
+
+-- Archiver picks terminal rows that have not changed for a while
+CREATE INDEX IF NOT EXISTS idx_notification_terminal_updated
+    ON notification_request (updated_at, id)
+    WHERE status <> 'ACTIVE';
+
+CREATE OR REPLACE FUNCTION ensure_notification_archive_partition(month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    partition_name TEXT := 'notification_request_archive_' || to_char(month_start, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF notification_request_archive '
+                   'FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, month_start, (month_start + INTERVAL '1 month')::date);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops monthly partitions whose whole range ends on or before the given date
+CREATE OR REPLACE FUNCTION drop_notification_archive_partitions(before DATE) RETURNS INTEGER AS $$
+DECLARE
+    expired RECORD;
+    dropped INTEGER := 0;
+BEGIN
+    FOR expired IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        JOIN pg_class p ON p.oid = i.inhparent
+        WHERE p.relname = 'notification_request_archive'
+          AND c.relname ~ '^notification_request_archive_[0-9]{4}_[0-9]{2}$'
+          AND to_date(right(c.relname, 7), 'YYYY_MM') + INTERVAL '1 month' <= before
+    LOOP
+        EXECUTE format('DROP TABLE %I', expired.relname);
+        dropped := dropped + 1;
+    END LOOP;
+    RETURN dropped;
+END;
+$$ LANGUAGE plpgsql;
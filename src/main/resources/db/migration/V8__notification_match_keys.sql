@@ -0,0 +1,3 @@
+-- Canonical match keys (see MatchKeys); filled for existing rows by V9 and required from V10 on
+ALTER TABLE notification_request ADD COLUMN IF NOT EXISTS movie_key VARCHAR(255);
+ALTER TABLE notification_request ADD COLUMN IF NOT EXISTS location_key VARCHAR(255);
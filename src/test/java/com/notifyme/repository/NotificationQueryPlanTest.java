@@ -0,0 +1,82 @@
+package com.notifyme.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression test: the hot notification_request queries that the repository issues
+ * must keep using the indexes from db/migration rather than scanning the table. Runs the
+ * migrations against a real PostgreSQL, loads a table large and skewed enough that a sequential
+ * scan would be chosen without the indexes, and inspects {@code EXPLAIN} output. Skipped when
+ * Docker is unavailable.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationQueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void migrateAndLoad() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbc = new JdbcTemplate(dataSource);
+
+        // 200k rows, 2% of them ACTIVE, spread over 500 movies, 20 locations and 20k emails
+        jdbc.execute("""
+            INSERT INTO notification_request
+                (email, movie_name, location, movie_key, location_key, start_date, end_date, status,
+                 created_at, updated_at)
+            SELECT 'user' || (i % 20000) || '@example.com',
+                   'Movie ' || (i % 500), 'City ' || (i % 20), 'movie ' || (i % 500), 'city ' || (i % 20),
+                   current_date - 30, current_date - 15 + (i % 60),
+                   CASE WHEN i % 50 = 0 THEN 'ACTIVE' ELSE 'NOTIFIED' END,
+                   now() - make_interval(secs => i), now()
+            FROM generate_series(1, 200000) AS i
+            """);
+        jdbc.execute("ANALYZE notification_request");
+    }
+
+    @Test
+    void expiryBatchUsesActiveEndDateIndex() {
+        // NotificationRepository.markExpiredBatch; plain EXPLAIN does not run the UPDATE
+        assertPlanUses("idx_notification_active_end_date", """
+            UPDATE notification_request SET status = 'EXPIRED', updated_at = now()
+            WHERE status = 'ACTIVE' AND id IN (
+                SELECT id FROM notification_request WHERE status = 'ACTIVE'
+                AND end_date < current_date AND id > 0 ORDER BY id LIMIT 1000)
+            RETURNING id
+            """);
+    }
+
+    @Test
+    void emailLookupUsesEmailCreatedIndex() {
+        // NotificationRepository.findLatestByEmail, as Hibernate renders it
+        assertPlanUses("idx_notification_email_created", """
+            SELECT id, email, movie_name, location, start_date, end_date, status, created_at, updated_at
+            FROM notification_request
+            WHERE email = 'user42@example.com'
+            ORDER BY created_at DESC, id DESC LIMIT 20
+            """);
+    }
+
+    private static void assertPlanUses(String index, String query) {
+        List<String> plan = jdbc.queryForList("EXPLAIN " + query, String.class);
+        String text = String.join("\n", plan);
+        assertThat(text).as("plan of %s", query).contains(index);
+        assertThat(text).as("plan of %s", query).doesNotContain("Seq Scan on notification_request");
+    }
+}
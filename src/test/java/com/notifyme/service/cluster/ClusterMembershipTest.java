@@ -0,0 +1,173 @@
+package com.notifyme.service.cluster;
+
+import com.notifyme.repository.ClusterNodeRepository;
+import com.notifyme.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two (or three) {@link ClusterMembership} instances sharing one PostgreSQL, as separate nodes
+ * would: every key has exactly one owner, a node that stops heartbeating hands its keys to the
+ * others once its heartbeat expires, and an expired {@link LeaderLease} is taken over. Not
+ * transactional, since heartbeat expiry is judged by the database clock across transactions.
+ * Skipped when Docker is unavailable.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ClusterMembershipTest {
+
+    private static final long HEARTBEAT_TTL_MS = 1000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private ClusterNodeRepository clusterNodeRepository;
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    private final List<String> keys = IntStream.range(0, 200).mapToObj(i -> "movie " + i + "\u0000city").toList();
+
+    @BeforeEach
+    void clearNodes() {
+        clusterNodeRepository.deleteAll();
+    }
+
+    @Test
+    void everyKeyHasExactlyOneOwner() {
+        ClusterMembership a = node("a");
+        ClusterMembership b = node("b");
+        heartbeatAll(a, b);
+
+        assertThat(a.liveNodeCount()).isEqualTo(2);
+        assertThat(b.liveNodeCount()).isEqualTo(2);
+        for (String key : keys) {
+            assertThat(a.owns(key)).as(key).isNotEqualTo(b.owns(key));
+        }
+        assertThat(keys).anyMatch(a::owns).anyMatch(b::owns);
+    }
+
+    @Test
+    void keysOfANodeThatStopsHeartbeatingMoveOnceItExpires() throws InterruptedException {
+        ClusterMembership a = node("a");
+        ClusterMembership b = node("b");
+        heartbeatAll(a, b);
+        List<String> ownedByA = keys.stream().filter(a::owns).toList();
+
+        // b stops heartbeating; until its heartbeat expires a still leaves b's keys alone
+        a.heartbeat();
+        assertThat(keys.stream().filter(a::owns).toList()).isEqualTo(ownedByA);
+
+        Thread.sleep(HEARTBEAT_TTL_MS + 500);
+        a.heartbeat();
+
+        assertThat(a.liveNodeCount()).isEqualTo(1);
+        assertThat(keys).allMatch(a::owns);
+    }
+
+    @Test
+    void leavingNodeHandsOverWithoutWaitingForExpiry() {
+        ClusterMembership a = node("a");
+        ClusterMembership b = node("b");
+        heartbeatAll(a, b);
+
+        b.leave();
+        a.heartbeat();
+
+        assertThat(a.liveNodeCount()).isEqualTo(1);
+        assertThat(keys).allMatch(a::owns);
+    }
+
+    @Test
+    void joiningNodeOnlyTakesKeysOver() {
+        ClusterMembership a = node("a");
+        ClusterMembership b = node("b");
+        heartbeatAll(a, b);
+        List<String> ownedByA = keys.stream().filter(a::owns).toList();
+        List<String> ownedByB = keys.stream().filter(b::owns).toList();
+
+        ClusterMembership c = node("c");
+        heartbeatAll(a, b, c);
+
+        // Rendezvous hashing: a key either stays where it was or moves to the new node
+        for (String key : keys) {
+            if (a.owns(key)) {
+                assertThat(ownedByA).contains(key);
+            } else if (b.owns(key)) {
+                assertThat(ownedByB).contains(key);
+            } else {
+                assertThat(c.owns(key)).as(key).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverByAnotherNode() throws InterruptedException {
+        String lease = "test-" + UUID.randomUUID();
+        LeaderLease onA = lease(node("a"));
+        LeaderLease onB = lease(node("b"));
+        Duration ttl = Duration.ofSeconds(1);
+
+        assertThat(onA.tryAcquire(lease, ttl)).isTrue();
+        assertThat(onB.tryAcquire(lease, ttl)).isFalse();
+        assertThat(onA.tryAcquire(lease, ttl)).as("holder renews").isTrue();
+
+        Thread.sleep(ttl.toMillis() + 500);
+
+        assertThat(onB.tryAcquire(lease, ttl)).isTrue();
+        assertThat(onA.tryAcquire(lease, ttl)).isFalse();
+    }
+
+    private ClusterMembership node(String name) {
+        ClusterMembership membership = new ClusterMembership(name + '-' + UUID.randomUUID());
+        ReflectionTestUtils.setField(membership, "clusterNodeRepository", clusterNodeRepository);
+        ReflectionTestUtils.setField(membership, "heartbeatTtlMs", HEARTBEAT_TTL_MS);
+        return membership;
+    }
+
+    private LeaderLease lease(ClusterMembership membership) {
+        LeaderLease lease = new LeaderLease();
+        ReflectionTestUtils.setField(lease, "schedulerLeaseRepository", schedulerLeaseRepository);
+        ReflectionTestUtils.setField(lease, "clusterMembership", membership);
+        return lease;
+    }
+
+    /**
+     * Heartbeats every node, then again, so each one has seen all the others' first heartbeat.
+     */
+    private static void heartbeatAll(ClusterMembership... nodes) {
+        for (int round = 0; round < 2; round++) {
+            for (ClusterMembership node : nodes) {
+                node.heartbeat();
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.notifyme.service.mail;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.URLName;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process SMTP transport for tests. Connecting sleeps for the number of milliseconds given by
+ * the {@link #HANDSHAKE_PROPERTY} session property (standing in for TCP, STARTTLS and AUTH), and
+ * each message for the number given by {@link #LATENCY_PROPERTY}; connections and messages are
+ * counted.
+ */
+public class FakeSmtpTransport extends Transport {
+
+    public static final String PROTOCOL = "fakesmtp";
+    public static final String HANDSHAKE_PROPERTY = "mail.fakesmtp.handshake-ms";
+    public static final String LATENCY_PROPERTY = "mail.fakesmtp.latency-ms";
+
+    static final AtomicInteger CONNECTIONS = new AtomicInteger();
+    static final AtomicInteger MESSAGES = new AtomicInteger();
+
+    private final long handshakeMs;
+    private final long latencyMs;
+
+    public FakeSmtpTransport(Session session, URLName urlName) {
+        super(session, urlName);
+        this.handshakeMs = Long.parseLong(session.getProperty(HANDSHAKE_PROPERTY));
+        this.latencyMs = Long.parseLong(session.getProperty(LATENCY_PROPERTY));
+    }
+
+    @Override
+    protected boolean protocolConnect(String host, int port, String user, String password) throws MessagingException {
+        pause(handshakeMs);
+        CONNECTIONS.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void sendMessage(Message message, Address[] addresses) throws MessagingException {
+        try {
+            message.writeTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new MessagingException("Failed to write message", e);
+        }
+        pause(latencyMs);
+        MESSAGES.incrementAndGet();
+    }
+
+    private static void pause(long millis) throws MessagingException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted", e);
+        }
+    }
+}
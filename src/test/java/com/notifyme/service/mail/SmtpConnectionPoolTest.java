@@ -0,0 +1,98 @@
+package com.notifyme.service.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Provider;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Connection reuse of {@link SmtpConnectionPool} against the previous one-connection-per-message
+ * path ({@link JavaMailSenderImpl#send(MimeMessage)}), counted by an in-process transport: the
+ * handshakes saved are what makes the pool faster, so the test asserts those, not timings.
+ */
+class SmtpConnectionPoolTest {
+
+    private static final int MESSAGES = 200;
+    private static final int MAX_MESSAGES_PER_CONNECTION = 100;
+    private static final int POOL_SIZE = 2;
+
+    private JavaMailSenderImpl mailSender;
+    private SmtpConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(FakeSmtpTransport.HANDSHAKE_PROPERTY, "0");
+        properties.setProperty(FakeSmtpTransport.LATENCY_PROPERTY, "0");
+        Session session = Session.getInstance(properties);
+        session.addProvider(new Provider(Provider.Type.TRANSPORT, FakeSmtpTransport.PROTOCOL,
+            FakeSmtpTransport.class.getName(), "NotifyMe", "1.0"));
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setSession(session);
+        mailSender.setProtocol(FakeSmtpTransport.PROTOCOL);
+        mailSender.setHost("localhost");
+
+        pool = new SmtpConnectionPool(POOL_SIZE, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(pool, "mailSender", mailSender);
+        ReflectionTestUtils.setField(pool, "maxMessagesPerConnection", MAX_MESSAGES_PER_CONNECTION);
+        ReflectionTestUtils.setField(pool, "borrowTimeoutMs", 30_000L);
+
+        FakeSmtpTransport.CONNECTIONS.set(0);
+        FakeSmtpTransport.MESSAGES.set(0);
+    }
+
+    @Test
+    void sendingPerMessageOpensAConnectionForEachMessage() throws MessagingException {
+        for (MimeMessage message : messages()) {
+            mailSender.send(message);
+        }
+
+        assertThat(FakeSmtpTransport.MESSAGES.get()).isEqualTo(MESSAGES);
+        assertThat(FakeSmtpTransport.CONNECTIONS.get()).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    void pooledBatchReusesConnectionsUpToTheRecycleCap() throws MessagingException {
+        assertThat(pool.send(messages())).isEmpty();
+
+        // Each connection carries at most the cap before it is recycled, and each pooled slot
+        // is reconnected at most once per cap's worth of messages
+        int recycles = Math.ceilDiv(MESSAGES, MAX_MESSAGES_PER_CONNECTION);
+        assertThat(FakeSmtpTransport.MESSAGES.get()).isEqualTo(MESSAGES);
+        assertThat(FakeSmtpTransport.CONNECTIONS.get()).isBetween(recycles, POOL_SIZE * recycles);
+    }
+
+    @Test
+    void warmConnectionIsReusedAcrossBatches() throws MessagingException {
+        pool.send(messages().subList(0, 10));
+        pool.send(messages().subList(0, 10));
+
+        assertThat(FakeSmtpTransport.CONNECTIONS.get()).isEqualTo(1);
+        assertThat(FakeSmtpTransport.MESSAGES.get()).isEqualTo(20);
+    }
+
+    private List<MimeMessage> messages() throws MessagingException {
+        List<MimeMessage> messages = new ArrayList<>(MESSAGES);
+        for (int i = 0; i < MESSAGES; i++) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+            helper.setTo("user" + i + "@example.com");
+            helper.setSubject("Movie Alert: Dune: Part Two is now available!");
+            helper.setText("The movie \"Dune: Part Two\" is now available for booking in Mumbai.");
+            messages.add(message);
+        }
+        return messages;
+    }
+}
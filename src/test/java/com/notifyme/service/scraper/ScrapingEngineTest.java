@@ -0,0 +1,100 @@
+package com.notifyme.service.scraper;
+
+import com.notifyme.service.concurrent.BoundedExecutor;
+import com.notifyme.service.concurrent.BoundedExecutor.Overflow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ScrapingEngine} against a scraper executor that is full when the run starts: slots
+ * rejected by the executor must be retried after the politeness delay rather than dropped.
+ */
+class ScrapingEngineTest {
+
+    private static final ScrapeTarget DUNE = new ScrapeTarget("Dune", "Pune");
+    private static final ScrapeTarget ARRIVAL = new ScrapeTarget("Arrival", "Pune");
+
+    private ChangeDetectingScraper scraper;
+    private BoundedExecutor workers;
+    private ScrapingEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        scraper = mock(ChangeDetectingScraper.class);
+        when(scraper.host()).thenReturn("test");
+        when(scraper.scrape(DUNE)).thenReturn(Optional.empty());
+        when(scraper.scrape(ARRIVAL)).thenReturn(Optional.empty());
+
+        workers = new BoundedExecutor(Executors.newCachedThreadPool(), 1, Overflow.ABORT, Duration.ZERO);
+        engine = new ScrapingEngine();
+        ReflectionTestUtils.setField(engine, "scraper", scraper);
+        ReflectionTestUtils.setField(engine, "workers", workers);
+        ReflectionTestUtils.setField(engine, "maxConcurrencyPerHost", 1);
+        ReflectionTestUtils.setField(engine, "politenessDelayMs", 20L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+        workers.close();
+    }
+
+    @Test
+    void rejectedSlotIsRetriedOnceTheExecutorFreesUp() throws IOException {
+        // Other work holds the executor's only permit for a while
+        occupyWorkers(() -> Thread.sleep(200));
+
+        List<ScrapeResult> results = engine.scrape(List.of(DUNE, ARRIVAL), Instant.now().plusSeconds(10));
+
+        assertThat(results).isEmpty();
+        verify(scraper, times(1)).scrape(DUNE);
+        verify(scraper, times(1)).scrape(ARRIVAL);
+    }
+
+    @Test
+    void targetsRejectedUntilTheDeadlineAreNotScraped() throws IOException {
+        CountDownLatch release = new CountDownLatch(1);
+        occupyWorkers(() -> release.await(10, TimeUnit.SECONDS));
+
+        try {
+            engine.scrape(List.of(DUNE), Instant.now().plusMillis(200));
+        } finally {
+            release.countDown();
+        }
+
+        verify(scraper, never()).scrape(DUNE);
+    }
+
+    private void occupyWorkers(Blocker blocker) {
+        workers.execute(() -> {
+            try {
+                blocker.block();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @FunctionalInterface
+    private interface Blocker {
+        void block() throws InterruptedException;
+    }
+}